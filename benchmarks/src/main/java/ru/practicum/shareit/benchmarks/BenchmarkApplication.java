@@ -0,0 +1,40 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.service.ItemBookingDatesRefresher;
+
+final class BenchmarkApplication {
+    static final String IN_MEMORY_URL = "jdbc:h2:mem:benchmarks;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String searchEngine, int users, int items, int bookings) {
+        return start(IN_MEMORY_URL, searchEngine, users, items, bookings);
+    }
+
+    static ConfigurableApplicationContext start(String datasourceUrl, String searchEngine,
+                                                int users, int items, int bookings) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + datasourceUrl,
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--shareit.search.engine=" + searchEngine,
+                        "--logging.level.root=WARN",
+                        "--logging.level.ru.practicum.shareit=WARN",
+                        "--logging.level.org.springframework.data=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql=WARN");
+        new BenchmarkDataSeeder(context.getBean(JdbcTemplate.class)).seed(users, items, bookings);
+        context.getBean(ItemBookingDatesRefresher.class).refreshExpired();
+        return context;
+    }
+}
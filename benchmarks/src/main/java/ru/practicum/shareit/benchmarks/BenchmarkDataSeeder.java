@@ -0,0 +1,32 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+final class BenchmarkDataSeeder {
+    private final JdbcTemplate jdbcTemplate;
+
+    BenchmarkDataSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void seed(int users, int items, int bookings) {
+        jdbcTemplate.update("INSERT INTO users (name, email) " +
+                "SELECT 'User-' || X, 'user' || X || '@example.com' FROM SYSTEM_RANGE(1, ?)", users);
+        jdbcTemplate.update("INSERT INTO item (name, description, status, owner) " +
+                "SELECT 'Item-' || X, 'Description of item ' || X, " +
+                "CASE WHEN MOD(X, 10) = 0 THEN 'UNAVAILABLE' ELSE 'AVAILABLE' END, MOD(X, ?) + 1 " +
+                "FROM SYSTEM_RANGE(1, ?)", users, items);
+        jdbcTemplate.update("INSERT INTO booking (start_date_time, end_date_time, item, booker, status) " +
+                "SELECT DATEADD('MINUTE', X - ? / 2, LOCALTIMESTAMP), " +
+                "DATEADD('MINUTE', X - ? / 2 + 1440, LOCALTIMESTAMP), " +
+                "MOD(X, ?) + 1, MOD(X * 7919, ?) + 1, " +
+                "CASE MOD(X, 4) WHEN 0 THEN 'WAITING' WHEN 3 THEN 'REJECTED' ELSE 'APPROVED' END " +
+                "FROM SYSTEM_RANGE(1, ?)", bookings, bookings, items, users, bookings);
+        jdbcTemplate.update("UPDATE item SET booking_dates_expire_at = LOCALTIMESTAMP " +
+                "WHERE EXISTS (SELECT 1 FROM booking b WHERE b.item = item.id)");
+        jdbcTemplate.update("INSERT INTO comment (text, item, author, created) " +
+                "SELECT 'Comment-' || X, MOD(X, ?) + 1, MOD(X * 31, ?) + 1, LOCALTIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, ?)", items, users, items / 2);
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
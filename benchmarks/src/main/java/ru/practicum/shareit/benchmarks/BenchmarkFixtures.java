@@ -0,0 +1,49 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.util.enums.BookerStatus;
+import ru.practicum.shareit.item.dto.comment.CommentDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.util.enums.ItemStatus;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkFixtures {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(long id) {
+        return new User(id, "User-" + id, "user" + id + "@example.com");
+    }
+
+    static Item item(long id) {
+        User requestor = user(id + 1);
+        ItemRequest request = new ItemRequest(id, "Request-" + id, requestor, NOW.minusDays(3));
+        return new Item(id, "Item-" + id, "Description of item " + id, ItemStatus.AVAILABLE, user(id), request);
+    }
+
+    static Booking booking(long id) {
+        return new Booking(id, NOW.plusHours(id), NOW.plusHours(id + 2), item(id), user(id + 2),
+                BookerStatus.APPROVED);
+    }
+
+    static List<Booking> bookings(int count) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++)
+            bookings.add(booking(id));
+        return bookings;
+    }
+
+    static List<CommentDto> comments(int count) {
+        List<CommentDto> comments = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++)
+            comments.add(new CommentDto(id, "Comment-" + id, "User-" + id, NOW.minusHours(id)));
+        return comments;
+    }
+}
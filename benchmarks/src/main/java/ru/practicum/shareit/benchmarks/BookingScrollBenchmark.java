@@ -0,0 +1,61 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.base.pagination.KeysetCursor;
+import ru.practicum.shareit.base.pagination.ScrollParams;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BookingScrollBenchmark {
+    @Param("10")
+    private int users;
+
+    @Param("100000")
+    private int items;
+
+    @Param("100000")
+    private int bookings;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("sql", users, items, bookings);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int scrollAllBookingsOfBooker() {
+        long bookerId = ThreadLocalRandom.current().nextLong(1, users + 1);
+        int count = 0;
+        String cursor = null;
+        Window<BookingDto> page;
+        do {
+            page = bookingService.getAllByUserId(bookerId, "ALL",
+                    new ScrollParams(null, ScrollParams.MAX_SIZE, cursor));
+            count += page.size();
+            if (!page.isEmpty()) {
+                BookingDto last = page.getContent().getLast();
+                cursor = new KeysetCursor(last.getStart(), last.getId()).encode();
+            }
+        } while (page.hasNext());
+        return count;
+    }
+}
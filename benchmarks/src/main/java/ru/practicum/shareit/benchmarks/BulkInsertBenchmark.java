@@ -0,0 +1,89 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.util.enums.BookerStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.util.enums.ItemStatus;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BulkInsertBenchmark {
+    private static final int ROWS_PER_INVOCATION = 3000;
+
+    @Param({"mem", "tcp"})
+    private String transport;
+
+    private Server tcpServer;
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private UserRepository userRepository;
+    private ItemRepository itemRepository;
+    private BookingRepository bookingRepository;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String datasourceUrl = BenchmarkApplication.IN_MEMORY_URL;
+        if (transport.equals("tcp")) {
+            tcpServer = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            datasourceUrl = "jdbc:h2:tcp://localhost:" + tcpServer.getPort() +
+                    "/mem:bulk-insert;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+        }
+        context = BenchmarkApplication.start(datasourceUrl, "sql", 0, 0, 0);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        userRepository = context.getBean(UserRepository.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        if (tcpServer != null)
+            tcpServer.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public int insertUsersItemsAndBookings() {
+        int batch = ROWS_PER_INVOCATION / 3;
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return transactionTemplate.execute(status -> {
+            List<User> users = new ArrayList<>(batch);
+            List<Item> items = new ArrayList<>(batch);
+            List<Booking> bookings = new ArrayList<>(batch);
+            for (int i = 0; i < batch; i++) {
+                long id = ++sequence;
+                User user = new User(null, "User-" + id, "bulk" + id + "@example.com");
+                Item item = new Item(null, "Item-" + id, "Description of item " + id, ItemStatus.AVAILABLE, user, null);
+                users.add(user);
+                items.add(item);
+                bookings.add(new Booking(null, start, start.plusHours(1), item, user, BookerStatus.WAITING));
+            }
+            userRepository.saveAll(users);
+            itemRepository.saveAll(items);
+            bookingRepository.saveAll(bookings);
+            userRepository.flush();
+            return users.size() + items.size() + bookings.size();
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.StreamUtils;
+import ru.practicum.shareit.booking.dto.mapper.BookingMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayBodyBenchmark {
+    @Param({"10", "100", "1000"})
+    private int bookings;
+
+    private ObjectMapper objectMapper;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        body = objectMapper.writeValueAsBytes(BookingMapper.toDto(BenchmarkFixtures.bookings(bookings)));
+    }
+
+    @Benchmark
+    public int objectRoundTrip() throws IOException {
+        Object parsed = objectMapper.readValue(new ByteArrayInputStream(body), Object.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        objectMapper.writeValue(out, parsed);
+        return out.size();
+    }
+
+    @Benchmark
+    public int bytesPassThrough() throws IOException {
+        byte[] copied = StreamUtils.copyToByteArray(new ByteArrayInputStream(body));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(copied);
+        return out.size();
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.comment.CommentDto;
+import ru.practicum.shareit.item.dto.item.ItemDto;
+import ru.practicum.shareit.item.dto.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private Booking booking;
+    private List<Booking> bookings;
+    private Item item;
+    private List<CommentDto> comments;
+
+    @Setup
+    public void setUp() {
+        booking = BenchmarkFixtures.booking(1L);
+        bookings = BenchmarkFixtures.bookings(100);
+        item = BenchmarkFixtures.item(1L);
+        comments = BenchmarkFixtures.comments(10);
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+        return BookingMapper.toDto(booking);
+    }
+
+    @Benchmark
+    public Collection<BookingDto> bookingPageToDto() {
+        return BookingMapper.toDto(bookings);
+    }
+
+    @Benchmark
+    public ItemDto itemToItemDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemDto itemWithCommentsToItemDto() {
+        return ItemMapper.toItemDto(item, comments);
+    }
+}
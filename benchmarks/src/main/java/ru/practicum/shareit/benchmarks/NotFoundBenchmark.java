@@ -0,0 +1,67 @@
+package ru.practicum.shareit.benchmarks;
+
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.handler.CustomExceptionHandler;
+import ru.practicum.shareit.exception.model.ErrorResponse;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundBenchmark {
+    @Param({"20", "150"})
+    private int stackDepth;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CustomExceptionHandler exceptionHandler = new CustomExceptionHandler();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(CustomExceptionHandler.class)).setLevel(ch.qos.logback.classic.Level.WARN);
+    }
+
+    @Benchmark
+    public byte[] stackTraceException() throws JsonProcessingException {
+        try {
+            return findById(stackDepth, true);
+        } catch (LegacyNotFoundException e) {
+            return objectMapper.writeValueAsBytes(new ErrorResponse("Запрашиваемый ресурс не найден", e.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public byte[] stacklessException() {
+        try {
+            return findById(stackDepth, false);
+        } catch (NotFoundException e) {
+            ResponseEntity<byte[]> response = exceptionHandler.handle(e);
+            return response.getBody();
+        }
+    }
+
+    private static byte[] findById(int depth, boolean legacy) {
+        if (depth > 0)
+            return findById(depth - 1, legacy);
+        long id = ThreadLocalRandom.current().nextLong(1_000_000, 2_000_000);
+        if (legacy)
+            throw new LegacyNotFoundException(String.format("%s по id=%s не найден", "Item", id));
+        throw new NotFoundException("%s по id=%s не найден", "Item", id);
+    }
+
+    private static class LegacyNotFoundException extends RuntimeException {
+        LegacyNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.base.pagination.ScrollParams;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.item.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ServiceBenchmark {
+    @Param("10000")
+    private int users;
+
+    @Param("100000")
+    private int items;
+
+    @Param("1000000")
+    private int bookings;
+
+    @Param("sql")
+    private String searchEngine;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(searchEngine, users, items, bookings);
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Collection<ItemDto> findAllItemsByUserId() {
+        return itemService.findAllItemsByUserId(randomUserId());
+    }
+
+    @Benchmark
+    public ItemDto findItemById() {
+        return itemService.findItemById(ThreadLocalRandom.current().nextLong(1, items + 1));
+    }
+
+    @Benchmark
+    public Collection<ItemDto> searchItems() {
+        return itemService.searchByNameAndDescription("item-" + ThreadLocalRandom.current().nextInt(1, 1000), 20);
+    }
+
+    @Benchmark
+    public Window<BookingDto> getBookingsOfBooker() {
+        return bookingService.getAllByUserId(randomUserId(), "ALL", ScrollParams.firstPage());
+    }
+
+    @Benchmark
+    public Window<BookingDto> getCurrentBookingsOfOwner() {
+        return bookingService.getAllByItemOwnerId(randomUserId(), "CURRENT", ScrollParams.firstPage());
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, users + 1);
+    }
+}
@@ -1,10 +1,14 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -12,6 +16,9 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.io.IOException;
+import java.util.List;
+
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -19,20 +26,23 @@ import ru.practicum.shareit.booking.dto.BookingState;
 @Slf4j
 @Validated
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final BookingClient bookingClient;
 
     @GetMapping
     public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
                                               @RequestParam(name = "state", defaultValue = "all") String stateParam,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(name = "cursor", required = false) String cursor) {
 
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
 
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
 
-        return bookingClient.getBookings(userId, state, from, size);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
     }
 
     @PostMapping
@@ -42,6 +52,14 @@ public class BookingController {
         return bookingClient.bookItem(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> bookItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                            List<BookItemRequestDto> requestDtos) {
+        log.info("Creating {} bookings, userId={}", requestDtos.size(), userId);
+        return bookingClient.bookItems(userId, requestDtos);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
                                              @PathVariable Long bookingId) {
@@ -51,12 +69,27 @@ public class BookingController {
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllByItemOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                      @RequestParam(name = "state", defaultValue = "all") String stateParam) {
+                                                      @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                      @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                      @RequestParam(name = "cursor", required = false) String cursor) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+
+        log.info("Get bookings by owner of item with state={}, userId={}, from={}, size={}, cursor={}",
+                state, userId, from, size, cursor);
+        return bookingClient.getBookingsByItemOwner(userId, state, from, size, cursor);
+    }
+
+    @GetMapping(path = "/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllByItemOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                       @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                       HttpServletResponse response) throws IOException {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
 
-        log.info("Get bookings by owner of item with state={}, userId={}", state, userId);
-        return bookingClient.getBookingsByItemOwner(userId, state);
+        log.info("Stream bookings by owner of item with state={}, userId={}", state, userId);
+        bookingClient.streamBookingsByItemOwner(userId, state, response);
     }
 
     @PatchMapping("/{bookingId}")
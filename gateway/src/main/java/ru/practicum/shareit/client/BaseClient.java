@@ -1,24 +1,66 @@
 package ru.practicum.shareit.client;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
+    private static final String LAST_WRITE_HEADER = "X-Last-Write";
+    private static final List<String> PASS_THROUGH_HEADERS =
+            List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, "X-Next-Cursor", LAST_WRITE_HEADER);
+
     protected final RestTemplate rest;
+    private final ResponseCache responseCache;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable ResponseCache responseCache) {
         this.rest = rest;
+        this.responseCache = responseCache;
     }
 
     protected ResponseEntity<Object> get(String path) {
         return get(path, null, null);
     }
 
+    protected ResponseEntity<Object> getCached(String path, @Nullable Long userId) {
+        String key = ResponseCache.key(path, userId);
+        ResponseCache.CachedResponse cached = responseCache.get(key);
+
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.getETag());
+        }
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        } catch (HttpStatusCodeException e) {
+            return errorResponse(e);
+        }
+
+        if (cached != null && shareitServerResponse.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return cached.toResponseEntity();
+        }
+        ResponseEntity<Object> gatewayResponse = prepareGatewayResponse(shareitServerResponse);
+        if (gatewayResponse.getStatusCode().is2xxSuccessful() && gatewayResponse.getHeaders().getETag() != null) {
+            responseCache.put(key, new ResponseCache.CachedResponse(
+                    gatewayResponse.getStatusCode(), gatewayResponse.getHeaders(), gatewayResponse.getBody()));
+        }
+        return gatewayResponse;
+    }
+
     protected ResponseEntity<Object> get(String path, long userId) {
         return get(path, userId, null);
     }
@@ -27,6 +69,23 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    protected void stream(String path, Long userId, @Nullable Map<String, Object> parameters,
+                          HttpServletResponse response) throws IOException {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+
+        try {
+            rest.execute(path, HttpMethod.GET, request -> request.getHeaders().putAll(headers), shareitServerResponse -> {
+                writeStatusAndHeaders(response, shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders());
+                StreamUtils.copy(shareitServerResponse.getBody(), response.getOutputStream());
+                return null;
+            }, parameters != null ? parameters : Map.of());
+        } catch (HttpStatusCodeException e) {
+            writeStatusAndHeaders(response, e.getStatusCode(), e.getResponseHeaders());
+            StreamUtils.copy(e.getResponseBodyAsByteArray(), response.getOutputStream());
+        }
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -78,15 +137,19 @@ public class BaseClient {
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return errorResponse(e);
+        }
+        if (responseCache != null && method != HttpMethod.GET
+                && shareitServerResponse.getStatusCode().is2xxSuccessful()) {
+            responseCache.invalidate(path);
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
@@ -98,15 +161,18 @@ public class BaseClient {
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            String lastWrite = attributes.getRequest().getHeader(LAST_WRITE_HEADER);
+            if (lastWrite != null) {
+                headers.set(LAST_WRITE_HEADER, lastWrite);
+            }
+        }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(passThroughHeaders(response.getHeaders()));
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -114,4 +180,30 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    private static ResponseEntity<Object> errorResponse(HttpStatusCodeException e) {
+        return ResponseEntity.status(e.getStatusCode())
+                .headers(passThroughHeaders(e.getResponseHeaders()))
+                .body(e.getResponseBodyAsByteArray());
+    }
+
+    private static void writeStatusAndHeaders(HttpServletResponse response, HttpStatusCode status,
+                                              @Nullable HttpHeaders serverHeaders) {
+        response.setStatus(status.value());
+        passThroughHeaders(serverHeaders).forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+    }
+
+    private static HttpHeaders passThroughHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders == null) {
+            return headers;
+        }
+        PASS_THROUGH_HEADERS.forEach(name -> {
+            List<String> values = serverHeaders.get(name);
+            if (values != null) {
+                headers.put(name, values);
+            }
+        });
+        return headers;
+    }
 }
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ResponseCache {
+    private final Map<String, CachedResponse> entries;
+
+    public ResponseCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static String key(String path, Long userId) {
+        return userId + ":" + path;
+    }
+
+    public synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    public synchronized void invalidate(String path) {
+        String resource = resourcePath(path);
+        if (resource.isEmpty()) {
+            return;
+        }
+        entries.keySet().removeIf(key -> {
+            String cachedPath = key.substring(key.indexOf(':') + 1);
+            return cachedPath.equals(resource) || cachedPath.startsWith(resource + "/");
+        });
+    }
+
+    private static String resourcePath(String path) {
+        int queryStart = path.indexOf('?');
+        String withoutQuery = queryStart < 0 ? path : path.substring(0, queryStart);
+        int segmentEnd = withoutQuery.indexOf('/', 1);
+        return segmentEnd < 0 ? withoutQuery : withoutQuery.substring(0, segmentEnd);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedResponse {
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final Object body;
+
+        public String getETag() {
+            return headers.getETag();
+        }
+
+        public ResponseEntity<Object> toResponseEntity() {
+            return ResponseEntity.status(status).headers(headers).body(body);
+        }
+    }
+}
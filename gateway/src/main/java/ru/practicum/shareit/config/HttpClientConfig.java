@@ -0,0 +1,68 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+
+@Configuration
+public class HttpClientConfig {
+    @Bean
+    public PoolingHttpClientConnectionManager shareitServerConnectionManager(
+            @Value("${shareit-gateway.http-client.max-total}") int maxTotal,
+            @Value("${shareit-gateway.http-client.max-per-route}") int maxPerRoute,
+            @Value("${shareit-gateway.http-client.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-gateway.http-client.response-timeout}") Duration responseTimeout,
+            @Value("${shareit-gateway.http-client.validate-after-inactivity}") Duration validateAfterInactivity) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(responseTimeout))
+                        .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient shareitServerHttpClient(
+            PoolingHttpClientConnectionManager shareitServerConnectionManager,
+            @Value("${shareit-gateway.http-client.connection-request-timeout}") Duration connectionRequestTimeout,
+            @Value("${shareit-gateway.http-client.response-timeout}") Duration responseTimeout,
+            @Value("${shareit-gateway.http-client.idle-eviction}") Duration idleEviction) {
+        return HttpClients.custom()
+                .setConnectionManager(shareitServerConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareitServerRequestFactory(CloseableHttpClient shareitServerHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareitServerHttpClient);
+    }
+
+    @Bean
+    public MeterBinder shareitServerConnectionPoolMetrics(
+            PoolingHttpClientConnectionManager shareitServerConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(shareitServerConnectionManager, "shareit-server");
+    }
+}
@@ -1,16 +1,20 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.RequestCommentDto;
 import ru.practicum.shareit.item.dto.RequestItemDto;
 
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 
 import static java.lang.String.format;
@@ -20,12 +24,16 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-gateway.response-cache.max-entries}") int responseCacheSize,
+                      RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(format("%s%s", serverUrl, API_PREFIX)))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                new ResponseCache(responseCacheSize)
         );
     }
 
@@ -33,16 +41,22 @@ public class ItemClient extends BaseClient {
         return get("", userId);
     }
 
+    public void streamAllItemsByUserId(Long userId, HttpServletResponse response) throws IOException {
+        stream("", userId, null, response);
+    }
+
     public ResponseEntity<Object> getItemById(Long itemId) {
-        return get(format("/%d", itemId));
+        return getCached(format("/%d", itemId), null);
     }
 
-    public ResponseEntity<Object> getBySearchByNameAndDescription(String text) {
-        Map<String, Object> parameters = Map.of(
-                "text", text
-        );
+    public ResponseEntity<Object> getBySearchByNameAndDescription(String text, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        if (size == null)
+            return get("/search?text={text}", null, parameters);
 
-        return get("/search", 0L, parameters);
+        parameters.put("size", size);
+        return get("/search?text={text}&size={size}", null, parameters);
     }
 
     public ResponseEntity<Object> postCreateItem(Long userId, RequestItemDto requestBody) {
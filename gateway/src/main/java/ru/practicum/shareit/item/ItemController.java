@@ -1,15 +1,22 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import ru.practicum.shareit.item.dto.RequestCommentDto;
 import ru.practicum.shareit.item.dto.RequestItemDto;
 
+import java.io.IOException;
+
 @Controller
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
@@ -23,6 +30,15 @@ public class ItemController {
         return itemClient.getAllItemsByUserId(userId);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllItemsOfUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("Stream items of userId={}", userId);
+
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        itemClient.streamAllItemsByUserId(userId, response);
+    }
+
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> findById(@PathVariable Long itemId) {
         log.info("Get Item{id={}}", itemId);
@@ -31,10 +47,11 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchByNameAndDescription(@RequestParam("text") String text) {
-        log.info("Get Items of search by name/description with text = {}", text);
+    public ResponseEntity<Object> searchByNameAndDescription(@RequestParam("text") String text,
+                                                             @Positive @RequestParam(required = false) Integer size) {
+        log.info("Get Items of search by name/description with text = {}, size = {}", text, size);
 
-        return itemClient.getBySearchByNameAndDescription(text);
+        return itemClient.getBySearchByNameAndDescription(text, size);
     }
 
     @PostMapping
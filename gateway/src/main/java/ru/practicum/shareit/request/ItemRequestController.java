@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -32,10 +34,15 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAll(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Get all requests");
-
-        return requestClient.getAllRequests(userId);
+    public ResponseEntity<Object> getAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                         @RequestParam(name = "cursor", required = false) String cursor,
+                                         @RequestParam(name = "withItems", defaultValue = "false") boolean withItems) {
+        log.info("Get all requests with userId={}, from={}, size={}, cursor={}, withItems={}",
+                userId, from, size, cursor, withItems);
+
+        return requestClient.getAllRequests(userId, from, size, cursor, withItems);
     }
 
     @GetMapping("/{requestId}")
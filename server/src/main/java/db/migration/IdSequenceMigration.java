@@ -0,0 +1,50 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+public abstract class IdSequenceMigration extends BaseJavaMigration {
+    private static final String DEFAULT_INCREMENT_SIZE = "50";
+
+    private final List<String> tables;
+    private final Integer incrementSize;
+
+    protected IdSequenceMigration(String table, int incrementSize) {
+        this.tables = List.of(table);
+        this.incrementSize = incrementSize;
+    }
+
+    protected IdSequenceMigration(String... tables) {
+        this.tables = List.of(tables);
+        this.incrementSize = null;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : tables) {
+                String sequence = table + "_seq";
+                long startWith;
+                try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+                    resultSet.next();
+                    startWith = resultSet.getLong(1);
+                }
+                statement.execute("CREATE SEQUENCE " + sequence +
+                        " START WITH " + startWith + " INCREMENT BY " + incrementSize(context, table));
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY");
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+            }
+        }
+    }
+
+    private long incrementSize(Context context, String table) {
+        if (incrementSize != null)
+            return incrementSize;
+        return Long.parseLong(context.getConfiguration().getPlaceholders()
+                .getOrDefault(table + "-id-allocation-size", DEFAULT_INCREMENT_SIZE));
+    }
+}
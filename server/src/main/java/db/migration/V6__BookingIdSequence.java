@@ -0,0 +1,7 @@
+package db.migration;
+
+public class V6__BookingIdSequence extends IdSequenceMigration {
+    public V6__BookingIdSequence() {
+        super("booking", 50);
+    }
+}
@@ -0,0 +1,7 @@
+package db.migration;
+
+public class V7__EntityIdSequences extends IdSequenceMigration {
+    public V7__EntityIdSequences() {
+        super("users", "item_request", "item", "comment");
+    }
+}
@@ -0,0 +1,21 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Statement;
+
+public class V8__ItemSearchTrigramIndexes extends BaseJavaMigration {
+    @Override
+    public void migrate(Context context) throws Exception {
+        if (!"PostgreSQL".equals(context.getConnection().getMetaData().getDatabaseProductName()))
+            return;
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_item_name_trgm " +
+                    "ON item USING gin (LOWER(name) gin_trgm_ops)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_item_description_trgm " +
+                    "ON item USING gin (LOWER(description) gin_trgm_ops)");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.base.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String LAST_WRITE_HEADER = "X-Last-Write";
+    private static final Set<String> SAFE_METHODS = Set.of(
+            HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        if (!SAFE_METHODS.contains(request.getMethod()))
+            response.setHeader(LAST_WRITE_HEADER, String.valueOf(now));
+        else if (isWithinWindow(request.getHeader(LAST_WRITE_HEADER), now))
+            ReplicaRoutingContext.pinToPrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+
+    private boolean isWithinWindow(String header, long now) {
+        if (header == null)
+            return false;
+        try {
+            return Math.abs(now - Long.parseLong(header.trim())) < windowMillis;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
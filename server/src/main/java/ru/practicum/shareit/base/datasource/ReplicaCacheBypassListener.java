@@ -0,0 +1,25 @@
+package ru.practicum.shareit.base.datasource;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@RequiredArgsConstructor
+public class ReplicaCacheBypassListener implements TransactionExecutionListener {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+        if (beginFailure != null || !transaction.isNewTransaction() || !transaction.isReadOnly()
+                || ReplicaRoutingContext.isPinnedToPrimary())
+            return;
+        if (TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder)
+            holder.getEntityManager().setProperty(AvailableHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+    }
+}
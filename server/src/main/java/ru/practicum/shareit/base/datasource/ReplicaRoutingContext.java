@@ -0,0 +1,17 @@
+package ru.practicum.shareit.base.datasource;
+
+public class ReplicaRoutingContext {
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+}
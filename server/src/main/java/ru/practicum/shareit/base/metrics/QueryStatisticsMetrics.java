@@ -0,0 +1,89 @@
+package ru.practicum.shareit.base.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+public class QueryStatisticsMetrics {
+    private final MeterRegistry registry;
+    private final Statistics statistics;
+    private final int maxQueries;
+    private final Set<String> registeredQueries = ConcurrentHashMap.newKeySet();
+    private boolean limitReported;
+
+    public QueryStatisticsMetrics(MeterRegistry registry, EntityManagerFactory entityManagerFactory,
+                                  @Value("${shareit.metrics.query-statistics.max-queries:200}") int maxQueries) {
+        this.registry = registry;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.maxQueries = maxQueries;
+    }
+
+    public static String queryKey(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.metrics.query-statistics.refresh-interval:PT30S}")
+    public void registerNewQueries() {
+        for (String query : statistics.getQueries()) {
+            if (registeredQueries.contains(query))
+                continue;
+            if (registeredQueries.size() >= maxQueries) {
+                if (!limitReported) {
+                    log.warn("Достигнут лимит запросов в метриках ({}), новые запросы не регистрируются", maxQueries);
+                    limitReported = true;
+                }
+                return;
+            }
+            registeredQueries.add(query);
+            register(query);
+        }
+    }
+
+    private void register(String query) {
+        String key = queryKey(query);
+        log.info("Запрос query={} зарегистрирован в метриках: {}", key, query);
+        FunctionTimer.builder("hibernate.query.executions", statistics,
+                        stats -> stats.getQueryStatistics(query).getExecutionCount(),
+                        stats -> stats.getQueryStatistics(query).getExecutionTotalTime(),
+                        TimeUnit.MILLISECONDS)
+                .description("Количество и суммарное время выполнения запроса")
+                .tag("query", key)
+                .register(registry);
+        FunctionCounter.builder("hibernate.query.execution.rows", statistics,
+                        stats -> stats.getQueryStatistics(query).getExecutionRowCount())
+                .description("Количество строк, возвращенных запросом")
+                .tag("query", key)
+                .register(registry);
+        Gauge.builder("hibernate.query.execution.max", statistics,
+                        stats -> stats.getQueryStatistics(query).getExecutionMaxTime())
+                .description("Максимальное время выполнения запроса")
+                .tag("query", key)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+}
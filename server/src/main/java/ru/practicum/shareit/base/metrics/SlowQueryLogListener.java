@@ -0,0 +1,37 @@
+package ru.practicum.shareit.base.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+public class SlowQueryLogListener implements QueryExecutionListener {
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final DefaultQueryLogEntryCreator logEntryCreator = new DefaultQueryLogEntryCreator();
+
+    public SlowQueryLogListener(Duration threshold, double sampleRate) {
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis)
+            return;
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate)
+            return;
+        log.warn("Медленный запрос (threshold={}ms, sampleRate={}): {}", thresholdMillis, sampleRate,
+                logEntryCreator.getLogEntry(execInfo, queryInfoList, false, true, false));
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.base.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("Некорректный cursor: %s", cursor);
+        }
+    }
+
+    public ScrollPosition toScrollPosition(String timestampProperty) {
+        return ScrollPosition.forward(Map.of(timestampProperty, timestamp, "id", id));
+    }
+
+    public static <T> HttpHeaders nextCursorHeaders(Window<T> window, Function<T, KeysetCursor> cursorOf) {
+        HttpHeaders headers = new HttpHeaders();
+        if (window.hasNext() && !window.isEmpty())
+            headers.set(NEXT_CURSOR_HEADER, cursorOf.apply(window.getContent().getLast()).encode());
+        return headers;
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.base.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.shareit.exception.ValidationException;
+
+@Getter
+@AllArgsConstructor
+public class ScrollParams {
+    public static final int DEFAULT_SIZE = 10;
+    public static final int MAX_SIZE = 1000;
+
+    private final Integer from;
+    private final Integer size;
+    private final String cursor;
+
+    public static ScrollParams firstPage() {
+        return new ScrollParams(null, null, null);
+    }
+
+    public Limit toLimit() {
+        return toLimit(MAX_SIZE);
+    }
+
+    public Limit toLimit(int maxSize) {
+        if (size == null)
+            return Limit.of(Math.min(DEFAULT_SIZE, maxSize));
+        if (size <= 0)
+            throw new ValidationException("Параметр size должен быть положительным: %d", size);
+        return Limit.of(Math.min(size, maxSize));
+    }
+
+    public ScrollPosition toScrollPosition(String timestampProperty) {
+        if (cursor != null && !cursor.isBlank())
+            return KeysetCursor.decode(cursor).toScrollPosition(timestampProperty);
+        if (from == null || from == 0)
+            return ScrollPosition.keyset();
+        if (from < 0)
+            throw new ValidationException("Параметр from не может быть отрицательным: %d", from);
+        // OffsetScrollPosition хранит позицию последнего прочитанного элемента, а from - индекс первого нужного
+        return ScrollPosition.offset(from - 1);
+    }
+}
@@ -2,13 +2,12 @@ package ru.practicum.shareit.base.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.base.model.BaseModel;
 import ru.practicum.shareit.exception.NotFoundException;
 
 import java.util.Collection;
 
-import static java.lang.String.format;
-
 @Slf4j
 public abstract class BaseInDbService<T extends BaseModel<Long>, R extends JpaRepository<T, Long>>
         implements BaseService<T, Long> {
@@ -21,16 +20,27 @@ public abstract class BaseInDbService<T extends BaseModel<Long>, R extends JpaRe
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<T> findAll() {
         log.debug("Все {} возврашены", entityNameForLog);
         return repository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public T findById(Long id) {
         return repository.findById(id)
-                .orElseThrow(() ->
-                        new NotFoundException(format("%s по id=%s не найден", entityNameForLog, id)));
+                .orElseThrow(() -> notFound(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsById(Long id) {
+        return repository.existsById(id);
+    }
+
+    protected NotFoundException notFound(Long id) {
+        return new NotFoundException("%s по id=%s не найден", entityNameForLog, id);
     }
 
     protected T save(T entity) {
@@ -38,6 +48,7 @@ public abstract class BaseInDbService<T extends BaseModel<Long>, R extends JpaRe
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
         findById(id);
         repository.deleteById(id);
@@ -7,5 +7,7 @@ public interface BaseService<T, I> {
 
     T findById(I id);
 
+    boolean existsById(I id);
+
     void deleteById(I id);
 }
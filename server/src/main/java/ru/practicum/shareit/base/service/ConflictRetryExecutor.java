@@ -0,0 +1,57 @@
+package ru.practicum.shareit.base.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ConflictException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class ConflictRetryExecutor {
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public ConflictRetryExecutor(PlatformTransactionManager transactionManager,
+                                 @Value("${shareit.conflict-retry.max-attempts:5}") int maxAttempts,
+                                 @Value("${shareit.conflict-retry.backoff:10ms}") Duration backoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoff.toMillis();
+    }
+
+    public <T> T execute(String entityName, Long id, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive())
+            return action.get();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts)
+                    throw new ConflictException("%s{id=%d} изменен параллельно, изменение не применено после %d попыток",
+                            entityName, id, attempt);
+                log.debug("{}{id={}}: конфликт параллельного изменения, попытка {} из {}",
+                        entityName, id, attempt, maxAttempts);
+                pause(attempt);
+            }
+        }
+    }
+
+    private void pause(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Повтор изменения прерван");
+        }
+    }
+}
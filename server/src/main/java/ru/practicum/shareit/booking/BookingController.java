@@ -1,23 +1,37 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.base.pagination.KeysetCursor;
+import ru.practicum.shareit.base.pagination.ScrollParams;
+import ru.practicum.shareit.base.streaming.NdjsonResponseWriter;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.RequestCreateBookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 
-import java.util.Collection;
+import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final NdjsonResponseWriter ndjsonResponseWriter;
 
     @GetMapping
-    public Collection<BookingDto> getAllByBookerId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                   @RequestParam(required = false, defaultValue = "all") String state) {
-        return bookingService.getAllByUserId(userId, state);
+    public ResponseEntity<List<BookingDto>> getAllByBookerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestParam(required = false, defaultValue = "all") String state,
+                                                             @RequestParam(required = false) Integer from,
+                                                             @RequestParam(required = false) Integer size,
+                                                             @RequestParam(required = false) String cursor) {
+        return toResponse(bookingService.getAllByUserId(userId, state, new ScrollParams(from, size, cursor)));
     }
 
     @PostMapping
@@ -26,6 +40,12 @@ public class BookingController {
         return bookingService.create(userId, requestCreateBookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @RequestBody List<RequestCreateBookingDto> requestCreateBookingDtos) {
+        return bookingService.createAll(userId, requestCreateBookingDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approveBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
                                      @PathVariable Long bookingId,
@@ -40,8 +60,26 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public Collection<BookingDto> getAllByItemOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                      @RequestParam(required = false, defaultValue = "all") String state) {
-        return bookingService.getAllByItemOwnerId(userId, state);
+    public ResponseEntity<List<BookingDto>> getAllByItemOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @RequestParam(required = false, defaultValue = "all") String state,
+                                                                @RequestParam(required = false) Integer from,
+                                                                @RequestParam(required = false) Integer size,
+                                                                @RequestParam(required = false) String cursor) {
+        return toResponse(bookingService.getAllByItemOwnerId(userId, state, new ScrollParams(from, size, cursor)));
+    }
+
+    @GetMapping(path = "/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllByItemOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                       @RequestParam(required = false, defaultValue = "all") String state,
+                                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ndjsonResponseWriter.write(request, response, BookingDto.class,
+                action -> bookingService.forEachByItemOwnerId(userId, state, action));
+    }
+
+    private static ResponseEntity<List<BookingDto>> toResponse(Window<BookingDto> bookings) {
+        return ResponseEntity.ok()
+                .headers(KeysetCursor.nextCursorHeaders(bookings,
+                        booking -> new KeysetCursor(booking.getStart(), booking.getId())))
+                .body(bookings.getContent());
     }
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.exception.ShareItException;
+import ru.practicum.shareit.exception.model.ErrorResponse;
+
+@Data
+@AllArgsConstructor
+public class BookingBatchResultDto {
+    private int index;
+    private BookingDto booking;
+    private ErrorResponse error;
+
+    public static BookingBatchResultDto created(int index, BookingDto booking) {
+        return new BookingBatchResultDto(index, booking, null);
+    }
+
+    public static BookingBatchResultDto failed(int index, ShareItException ex) {
+        return new BookingBatchResultDto(index, null, new ErrorResponse(ex.getErrorTemplate().getError(), ex.getMessage()));
+    }
+}
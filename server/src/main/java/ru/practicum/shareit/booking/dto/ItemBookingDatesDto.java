@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ItemBookingDatesDto {
+    private Long itemId;
+    private LocalDateTime lastBooking;
+    private LocalDateTime nextBooking;
+    private LocalDateTime expireAt;
+}
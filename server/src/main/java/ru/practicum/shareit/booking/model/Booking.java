@@ -16,10 +16,10 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
-@AllArgsConstructor
 public class Booking implements BaseModel<Long> {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "start_date_time", nullable = false)
@@ -28,12 +28,12 @@ public class Booking implements BaseModel<Long> {
     @Column(name = "end_date_time", nullable = false)
     private LocalDateTime endDateTime;
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "item", nullable = false)
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Item item;
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "booker", nullable = false)
     @OnDelete(action = OnDeleteAction.CASCADE)
     private User booker;
@@ -41,4 +41,18 @@ public class Booking implements BaseModel<Long> {
     @Column(name = "status", nullable = false)
     @Enumerated(EnumType.STRING)
     private BookerStatus status;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    public Booking(Long id, LocalDateTime startDateTime, LocalDateTime endDateTime, Item item, User booker,
+                   BookerStatus status) {
+        this.id = id;
+        this.startDateTime = startDateTime;
+        this.endDateTime = endDateTime;
+        this.item = item;
+        this.booker = booker;
+        this.status = status;
+    }
 }
@@ -1,59 +1,121 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.ItemBookingDatesDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.util.enums.BookerStatus;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    String STREAM_FETCH_SIZE = "500";
 
-    Collection<Booking> findAllByBookerId(Long bookerId);
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
 
-    Collection<Booking> findAllByBookerIdAndStartDateTimeIsBeforeAndEndDateTimeIsAfter(Long bookerId, LocalDateTime dateTime1, LocalDateTime dateTime2);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByBookerId(Long bookerId, ScrollPosition position, Sort sort, Limit limit);
 
-    Collection<Booking> findAllByBookerIdAndStartDateTimeIsAfter(Long bookerId, LocalDateTime dateTime);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByBookerIdAndStartDateTimeIsBeforeAndEndDateTimeIsAfter(Long bookerId, LocalDateTime dateTime1, LocalDateTime dateTime2, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByBookerIdAndStartDateTimeIsAfter(Long bookerId, LocalDateTime dateTime, ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker " +
+            "WHERE b.id = :bookingId AND (b.booker.id = :userId OR i.owner.id = :userId)")
+    Optional<Booking> findByIdAndBookerIdOrItemOwnerId(@Param("bookingId") Long bookingId, @Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE VERSIONED Booking b SET b.status = :status " +
+            "WHERE b.id = :bookingId AND b.status = 'WAITING' " +
+            "AND EXISTS (SELECT 1 FROM Item i WHERE i.id = b.item.id AND i.owner.id = :ownerId)")
+    int updateWaitingStatusByIdAndItemOwnerId(@Param("bookingId") Long bookingId, @Param("ownerId") Long ownerId,
+                                              @Param("status") BookerStatus status);
+
+    boolean existsByIdAndItemOwnerId(Long bookingId, Long ownerId);
 
     boolean existsByBookerIdAndItemIdAndEndDateTimeIsBefore(Long bookerId, Long itemId, LocalDateTime dateTime);
 
-    Collection<Booking> findAllByBookerIdAndEndDateTimeIsBefore(Long bookerId, LocalDateTime dateTime);
+    boolean existsByItemIdAndStatusInAndStartDateTimeIsBeforeAndEndDateTimeIsAfter(Long itemId, Collection<BookerStatus> statuses,
+                                                                                   LocalDateTime end, LocalDateTime start);
+
+    List<Booking> findAllByItemIdInAndStatusInAndStartDateTimeIsBeforeAndEndDateTimeIsAfter(
+            Collection<Long> itemIds, Collection<BookerStatus> statuses, LocalDateTime end, LocalDateTime start);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByBookerIdAndEndDateTimeIsBefore(Long bookerId, LocalDateTime dateTime, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByBookerIdAndStatusEquals(Long bookerId, BookerStatus status, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByItemOwnerId(Long ownerId, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByItemOwnerIdAndStartDateTimeIsBeforeAndEndDateTimeIsAfter(Long ownerId, LocalDateTime dateTime1, LocalDateTime dateTime2, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByItemOwnerIdAndStartDateTimeIsAfter(Long ownerId, LocalDateTime dateTime, ScrollPosition position, Sort sort, Limit limit);
 
-    Collection<Booking> findAllByBookerIdAndStatusEquals(Long bookerId, BookerStatus status);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByItemOwnerIdAndEndDateTimeIsBefore(Long ownerId, LocalDateTime dateTime, ScrollPosition position, Sort sort, Limit limit);
 
-    Collection<Booking> findAllByItemOwnerId(Long bookerId);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByItemOwnerIdAndStatusEquals(Long ownerId, BookerStatus status, ScrollPosition position, Sort sort, Limit limit);
 
-    Collection<Booking> findAllByItemOwnerIdAndStartDateTimeIsBeforeAndEndDateTimeIsAfter(Long ownerId, LocalDateTime dateTime1, LocalDateTime dateTime2);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    Stream<Booking> streamAllByItemOwnerId(Long ownerId, Sort sort);
 
-    Collection<Booking> findAllByItemOwnerIdAndStartDateTimeIsAfter(Long ownerId, LocalDateTime dateTime);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    Stream<Booking> streamAllByItemOwnerIdAndStartDateTimeIsBeforeAndEndDateTimeIsAfter(Long ownerId, LocalDateTime dateTime1, LocalDateTime dateTime2, Sort sort);
 
-    Collection<Booking> findAllByItemOwnerIdAndEndDateTimeIsBefore(Long ownerId, LocalDateTime dateTime);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    Stream<Booking> streamAllByItemOwnerIdAndStartDateTimeIsAfter(Long ownerId, LocalDateTime dateTime, Sort sort);
 
-    Collection<Booking> findAllByItemOwnerIdAndStatusEquals(Long ownerId, BookerStatus status);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    Stream<Booking> streamAllByItemOwnerIdAndEndDateTimeIsBefore(Long ownerId, LocalDateTime dateTime, Sort sort);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id = :itemId " +
-            "AND b.endDateTime <= :nowDate " +
-            "AND b.endDateTime = (" +
-            "  SELECT MAX(b2.endDateTime) " +
-            "  FROM Booking b2 " +
-            "  WHERE b2.item.id = :itemId AND b2.endDateTime <= :nowDate)")
-    Optional<Booking> findLatestBookingByItemId(@Param("itemId") Long itemId,
-                                                @Param("nowDate") LocalDateTime nowDate);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    Stream<Booking> streamAllByItemOwnerIdAndStatusEquals(Long ownerId, BookerStatus status, Sort sort);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id = :itemId " +
-            "AND b.startDateTime >= :nowDate " +
-            "AND b.startDateTime = (" +
-            "  SELECT MIN(b2.startDateTime) " +
-            "  FROM Booking b2 " +
-            "  WHERE b2.item.id = :itemId AND b2.startDateTime >= :nowDate)")
-    Optional<Booking> findNextBookingByItemId(@Param("itemId") Long itemId,
-                                              @Param("nowDate") LocalDateTime nowDate);
+    @Query("SELECT new ru.practicum.shareit.booking.dto.ItemBookingDatesDto(b.item.id, " +
+            "MAX(CASE WHEN b.endDateTime <= :nowDate THEN b.endDateTime END), " +
+            "MIN(CASE WHEN b.startDateTime > :nowDate THEN b.startDateTime END), " +
+            "MIN(CASE WHEN b.startDateTime > :nowDate THEN b.startDateTime " +
+            "WHEN b.endDateTime > :nowDate THEN b.endDateTime END)) " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
+            "GROUP BY b.item.id")
+    List<ItemBookingDatesDto> findBookingDatesByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                                        @Param("nowDate") LocalDateTime nowDate);
 
 }
@@ -1,20 +1,28 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.base.pagination.ScrollParams;
 import ru.practicum.shareit.base.service.BaseService;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.RequestCreateBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 
-import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService extends BaseService<Booking, Long> {
     BookingDto create(Long userId, RequestCreateBookingDto bookingDto);
 
+    List<BookingBatchResultDto> createAll(Long userId, List<RequestCreateBookingDto> bookingDtos);
+
     BookingDto approveBooking(Long userId, Long bookingId, boolean approved);
 
     BookingDto getBookingById(Long userId, Long bookingId);
 
-    Collection<BookingDto> getAllByUserId(Long userId, String state);
+    Window<BookingDto> getAllByUserId(Long userId, String state, ScrollParams scrollParams);
+
+    Window<BookingDto> getAllByItemOwnerId(Long userId, String state, ScrollParams scrollParams);
 
-    Collection<BookingDto> getAllByItemOwnerId(Long userId, String state);
+    void forEachByItemOwnerId(Long userId, String state, Consumer<BookingDto> action);
 }
@@ -1,9 +1,18 @@
 package ru.practicum.shareit.booking.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.base.pagination.ScrollParams;
 import ru.practicum.shareit.base.service.BaseInDbService;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.RequestCreateBookingDto;
 import ru.practicum.shareit.booking.dto.mapper.BookingMapper;
@@ -12,6 +21,8 @@ import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.util.enums.BookerStatus;
 import ru.practicum.shareit.booking.util.enums.State;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ShareItException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
@@ -19,33 +30,56 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
-import static java.lang.String.format;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 
 @Slf4j
 @Service
 public class BookingServiceImpl extends BaseInDbService<Booking, BookingRepository> implements BookingService {
+    private static final Set<BookerStatus> BLOCKING_STATUSES = EnumSet.of(BookerStatus.WAITING, BookerStatus.APPROVED);
+    private static final String START_DATE_TIME = "startDateTime";
+    private static final Sort SORT_BY_START_DESC = Sort.by(Sort.Direction.DESC, START_DATE_TIME, "id");
+
     private final ItemService itemService;
     private final UserService userService;
+    private final int batchMaxSize;
+    private final EntityManager entityManager;
+    private final int streamChunkSize;
 
     @Autowired
-    public BookingServiceImpl(BookingRepository repository, ItemService itemService, UserService userService) {
+    public BookingServiceImpl(BookingRepository repository, ItemService itemService, UserService userService,
+                              @Value("${shareit.bookings.batch.max-size:1000}") int batchMaxSize,
+                              EntityManager entityManager,
+                              @Value("${shareit.streaming.chunk-size:500}") int streamChunkSize) {
         super(repository, "Booking");
         this.itemService = itemService;
         this.userService = userService;
+        this.batchMaxSize = batchMaxSize;
+        this.entityManager = entityManager;
+        this.streamChunkSize = streamChunkSize;
     }
 
     @Override
+    @Transactional
     public BookingDto create(Long userId, RequestCreateBookingDto bookingDto) {
         User booker = userService.findById(userId);
-        Item item = itemService.findById(bookingDto.getItemId());
+        Item item = itemService.findByIdForUpdate(bookingDto.getItemId());
         if (!item.isAvailable())
-            throw new ValidationException(format("Item{id=%d} не активен", item.getId()));
+            throw new ValidationException("Item{id=%d} не активен", item.getId());
+        if (repository.existsByItemIdAndStatusInAndStartDateTimeIsBeforeAndEndDateTimeIsAfter(
+                item.getId(), BLOCKING_STATUSES, bookingDto.getEnd(), bookingDto.getStart()))
+            throw new ValidationException("Item{id=%d} уже забронирован на период с %s по %s",
+                    item.getId(), bookingDto.getStart(), bookingDto.getEnd());
         Booking booking = BookingMapper.fromDto(bookingDto);
         booking.setBooker(booker);
         booking.setItem(item);
         booking.setStatus(BookerStatus.WAITING);
+        item.addBookingDates(booking.getStartDateTime(), booking.getEndDateTime(), LocalDateTime.now());
 
         Booking savedBooking = super.save(booking);
         log.info("Booking{id={}}: Успешно создан", savedBooking.getId());
@@ -53,82 +87,219 @@ public class BookingServiceImpl extends BaseInDbService<Booking, BookingReposito
     }
 
     @Override
-    public BookingDto approveBooking(Long userId, Long bookingId, boolean approved) {
-        Booking storageBooking = this.findById(bookingId);
-        if (!userService.existsById(userId))
-            throw new ValidationException(String.format("User{id=%d} не существует", userId));
+    @Transactional
+    public List<BookingBatchResultDto> createAll(Long userId, List<RequestCreateBookingDto> bookingDtos) {
+        if (bookingDtos.size() > batchMaxSize)
+            throw new ValidationException("Пакет содержит %d бронирований, максимум %d", bookingDtos.size(), batchMaxSize);
+        User booker = userService.findById(userId);
+        Map<Long, Item> items = itemService.findAllByIdForUpdate(bookingDtos.stream()
+                        .map(RequestCreateBookingDto::getItemId)
+                        .filter(Objects::nonNull)
+                        .collect(toSet()))
+                .stream()
+                .collect(toMap(Item::getId, Function.identity()));
+        Map<Long, List<Booking>> blockingBookings = findBlockingBookings(items.keySet(), bookingDtos);
+        LocalDateTime now = LocalDateTime.now();
 
-        if (!storageBooking.getItem().getOwner().getId().equals(userId))
-            throw new AccessDeniedException(
-                    format("User{id=%d} не имеет доступа на изменение статуса Booking{id=%d}", userId, bookingId), 403);
+        BookingBatchResultDto[] results = new BookingBatchResultDto[bookingDtos.size()];
+        Map<Integer, Booking> acceptedBookings = new LinkedHashMap<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            RequestCreateBookingDto bookingDto = bookingDtos.get(i);
+            try {
+                Item item = checkBatchEntry(bookingDto, items, blockingBookings, now);
+                Booking booking = BookingMapper.fromDto(bookingDto);
+                booking.setBooker(booker);
+                booking.setItem(item);
+                booking.setStatus(BookerStatus.WAITING);
+                item.addBookingDates(booking.getStartDateTime(), booking.getEndDateTime(), now);
+                blockingBookings.computeIfAbsent(item.getId(), itemId -> new ArrayList<>()).add(booking);
+                acceptedBookings.put(i, booking);
+            } catch (ShareItException e) {
+                results[i] = BookingBatchResultDto.failed(i, e);
+            }
+        }
 
-        storageBooking.setStatus(approved ? BookerStatus.APPROVED : BookerStatus.REJECTED);
+        repository.saveAll(acceptedBookings.values());
+        acceptedBookings.forEach((index, booking) -> results[index] = BookingBatchResultDto.created(index, toDto(booking)));
+        log.info("Пакет бронирований User{id={}}: создано {}, отклонено {}", userId,
+                acceptedBookings.size(), bookingDtos.size() - acceptedBookings.size());
+        return Arrays.asList(results);
+    }
 
-        Booking savedBooking = super.save(storageBooking);
-        log.info("Booking{id={}}: Статус обновлен", savedBooking.getId());
-        return this.toDto(savedBooking);
+    private Map<Long, List<Booking>> findBlockingBookings(Collection<Long> itemIds,
+                                                          List<RequestCreateBookingDto> bookingDtos) {
+        Map<Long, List<Booking>> blockingBookings = new HashMap<>();
+        List<RequestCreateBookingDto> datedBookings = bookingDtos.stream()
+                .filter(bookingDto -> bookingDto.getStart() != null && bookingDto.getEnd() != null)
+                .toList();
+        if (itemIds.isEmpty() || datedBookings.isEmpty())
+            return blockingBookings;
+
+        LocalDateTime minStart = datedBookings.stream().map(RequestCreateBookingDto::getStart)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime maxEnd = datedBookings.stream().map(RequestCreateBookingDto::getEnd)
+                .max(Comparator.naturalOrder()).orElseThrow();
+        repository.findAllByItemIdInAndStatusInAndStartDateTimeIsBeforeAndEndDateTimeIsAfter(
+                        itemIds, BLOCKING_STATUSES, maxEnd, minStart)
+                .forEach(booking -> blockingBookings
+                        .computeIfAbsent(booking.getItem().getId(), itemId -> new ArrayList<>())
+                        .add(booking));
+        return blockingBookings;
+    }
+
+    private static Item checkBatchEntry(RequestCreateBookingDto bookingDto, Map<Long, Item> items,
+                                        Map<Long, List<Booking>> blockingBookings, LocalDateTime now) {
+        if (bookingDto.getItemId() == null || bookingDto.getStart() == null || bookingDto.getEnd() == null)
+            throw new ValidationException("Бронирование должно содержать itemId, start и end");
+        if (!bookingDto.getStart().isBefore(bookingDto.getEnd()))
+            throw new ValidationException("Начало бронирования %s должно быть раньше окончания %s",
+                    bookingDto.getStart(), bookingDto.getEnd());
+        if (bookingDto.getStart().isBefore(now))
+            throw new ValidationException("Начало бронирования %s в прошлом", bookingDto.getStart());
+
+        Item item = items.get(bookingDto.getItemId());
+        if (item == null)
+            throw new NotFoundException("Item по id=%s не найден", bookingDto.getItemId());
+        if (!item.isAvailable())
+            throw new ValidationException("Item{id=%d} не активен", item.getId());
+        boolean overlaps = blockingBookings.getOrDefault(item.getId(), List.of()).stream()
+                .anyMatch(booking -> booking.getStartDateTime().isBefore(bookingDto.getEnd())
+                        && booking.getEndDateTime().isAfter(bookingDto.getStart()));
+        if (overlaps)
+            throw new ValidationException("Item{id=%d} уже забронирован на период с %s по %s",
+                    item.getId(), bookingDto.getStart(), bookingDto.getEnd());
+        return item;
     }
 
     @Override
-    public BookingDto getBookingById(Long userId, Long bookingId) {
-        Booking storageBooking = super.findById(bookingId);
-        userService.checkExistsById(userId);
+    @Transactional
+    public BookingDto approveBooking(Long userId, Long bookingId, boolean approved) {
+        BookerStatus status = approved ? BookerStatus.APPROVED : BookerStatus.REJECTED;
+        if (repository.updateWaitingStatusByIdAndItemOwnerId(bookingId, userId, status) == 0) {
+            if (!repository.existsById(bookingId))
+                throw notFound(bookingId);
+            if (!userService.existsById(userId))
+                throw new ValidationException("User{id=%d} не существует", userId);
+            if (!repository.existsByIdAndItemOwnerId(bookingId, userId))
+                throw new AccessDeniedException(403,
+                        "User{id=%d} не имеет доступа на изменение статуса Booking{id=%d}", userId, bookingId);
+            throw new ValidationException("Booking{id=%d} уже не ожидает подтверждения", bookingId);
+        }
 
-        User booker = storageBooking.getBooker();
-        User owner = storageBooking.getItem().getOwner();
+        log.info("Booking{id={}}: Статус обновлен", bookingId);
+        return this.toDto(this.findById(bookingId));
+    }
 
-        if (!(booker.getId().equals(userId) || owner.getId().equals(userId)))
-            throw new AccessDeniedException(
-                    format("User{id=%d} не имеет доступа на просмотр Booking{id=%d}", userId, bookingId), 403);
+    @Override
+    @Transactional(readOnly = true)
+    public BookingDto getBookingById(Long userId, Long bookingId) {
+        Booking storageBooking = repository.findByIdAndBookerIdOrItemOwnerId(bookingId, userId)
+                .orElseThrow(() -> {
+                    if (!repository.existsById(bookingId))
+                        return notFound(bookingId);
+                    userService.checkExistsById(userId);
+                    return new AccessDeniedException(403,
+                            "User{id=%d} не имеет доступа на просмотр Booking{id=%d}", userId, bookingId);
+                });
 
         log.info("Booking{id={}}: Успешно показан пользователю User{id={}}", bookingId, userId);
         return this.toDto(storageBooking);
     }
 
     @Override
-    public Collection<BookingDto> getAllByUserId(Long userId, String state) {
+    @Transactional(readOnly = true)
+    public Window<BookingDto> getAllByUserId(Long userId, String state, ScrollParams scrollParams) {
         State condition = State.fromString(state);
-        Collection<Booking> result;
+        ScrollPosition position = scrollParams.toScrollPosition(START_DATE_TIME);
+        Limit limit = scrollParams.toLimit();
+        Window<Booking> result;
         switch (condition) {
-            case ALL -> result = repository.findAllByBookerId(userId);
+            case ALL -> result = repository.findAllByBookerId(userId, position, SORT_BY_START_DESC, limit);
             case CURRENT -> {
                 var dateTime = LocalDateTime.now();
-                result = repository.findAllByBookerIdAndStartDateTimeIsBeforeAndEndDateTimeIsAfter(userId, dateTime, dateTime);
+                result = repository.findAllByBookerIdAndStartDateTimeIsBeforeAndEndDateTimeIsAfter(
+                        userId, dateTime, dateTime, position, SORT_BY_START_DESC, limit);
             }
-            case FUTURE -> result = repository.findAllByBookerIdAndStartDateTimeIsAfter(userId, LocalDateTime.now());
-            case PAST -> result = repository.findAllByBookerIdAndEndDateTimeIsBefore(userId, LocalDateTime.now());
-            case WAITING -> result = repository.findAllByBookerIdAndStatusEquals(userId, BookerStatus.WAITING);
-            default -> result = repository.findAllByBookerIdAndStatusEquals(userId, BookerStatus.REJECTED);
+            case FUTURE -> result = repository.findAllByBookerIdAndStartDateTimeIsAfter(
+                    userId, LocalDateTime.now(), position, SORT_BY_START_DESC, limit);
+            case PAST -> result = repository.findAllByBookerIdAndEndDateTimeIsBefore(
+                    userId, LocalDateTime.now(), position, SORT_BY_START_DESC, limit);
+            case WAITING -> result = repository.findAllByBookerIdAndStatusEquals(
+                    userId, BookerStatus.WAITING, position, SORT_BY_START_DESC, limit);
+            default -> result = repository.findAllByBookerIdAndStatusEquals(
+                    userId, BookerStatus.REJECTED, position, SORT_BY_START_DESC, limit);
         }
 
-        return this.toDto(result);
+        return result.map(this::toDto);
     }
 
     @Override
-    public Collection<BookingDto> getAllByItemOwnerId(Long userId, String state) {
+    @Transactional(readOnly = true)
+    public Window<BookingDto> getAllByItemOwnerId(Long userId, String state, ScrollParams scrollParams) {
         userService.checkExistsById(userId);
 
         State condition = State.fromString(state);
-        Collection<Booking> result;
+        ScrollPosition position = scrollParams.toScrollPosition(START_DATE_TIME);
+        Limit limit = scrollParams.toLimit();
+        Window<Booking> result;
         switch (condition) {
-            case ALL -> result = repository.findAllByItemOwnerId(userId);
+            case ALL -> result = repository.findAllByItemOwnerId(userId, position, SORT_BY_START_DESC, limit);
             case CURRENT -> {
                 var dateTime = LocalDateTime.now();
-                result = repository.findAllByItemOwnerIdAndStartDateTimeIsBeforeAndEndDateTimeIsAfter(userId, dateTime, dateTime);
+                result = repository.findAllByItemOwnerIdAndStartDateTimeIsBeforeAndEndDateTimeIsAfter(
+                        userId, dateTime, dateTime, position, SORT_BY_START_DESC, limit);
             }
-            case FUTURE -> result = repository.findAllByItemOwnerIdAndStartDateTimeIsAfter(userId, LocalDateTime.now());
-            case PAST -> result = repository.findAllByItemOwnerIdAndEndDateTimeIsBefore(userId, LocalDateTime.now());
-            case WAITING -> result = repository.findAllByItemOwnerIdAndStatusEquals(userId, BookerStatus.WAITING);
-            default -> result = repository.findAllByItemOwnerIdAndStatusEquals(userId, BookerStatus.REJECTED);
+            case FUTURE -> result = repository.findAllByItemOwnerIdAndStartDateTimeIsAfter(
+                    userId, LocalDateTime.now(), position, SORT_BY_START_DESC, limit);
+            case PAST -> result = repository.findAllByItemOwnerIdAndEndDateTimeIsBefore(
+                    userId, LocalDateTime.now(), position, SORT_BY_START_DESC, limit);
+            case WAITING -> result = repository.findAllByItemOwnerIdAndStatusEquals(
+                    userId, BookerStatus.WAITING, position, SORT_BY_START_DESC, limit);
+            default -> result = repository.findAllByItemOwnerIdAndStatusEquals(
+                    userId, BookerStatus.REJECTED, position, SORT_BY_START_DESC, limit);
         }
-        return this.toDto(result);
+        return result.map(this::toDto);
     }
 
-    private BookingDto toDto(Booking booking) {
-        return BookingMapper.toDto(booking);
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachByItemOwnerId(Long userId, String state, Consumer<BookingDto> action) {
+        userService.checkExistsById(userId);
+
+        State condition = State.fromString(state);
+        int count = 0;
+        try (Stream<Booking> bookings = streamAllByItemOwnerId(userId, condition)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                action.accept(toDto(iterator.next()));
+                if (++count % streamChunkSize == 0)
+                    entityManager.clear();
+            }
+        }
+        log.debug("Все Booking владельца User{id={}} со статусом {} успешно выгружены (size={})",
+                userId, condition, count);
+    }
+
+    private Stream<Booking> streamAllByItemOwnerId(Long userId, State condition) {
+        return switch (condition) {
+            case ALL -> repository.streamAllByItemOwnerId(userId, SORT_BY_START_DESC);
+            case CURRENT -> {
+                var dateTime = LocalDateTime.now();
+                yield repository.streamAllByItemOwnerIdAndStartDateTimeIsBeforeAndEndDateTimeIsAfter(
+                        userId, dateTime, dateTime, SORT_BY_START_DESC);
+            }
+            case FUTURE -> repository.streamAllByItemOwnerIdAndStartDateTimeIsAfter(
+                    userId, LocalDateTime.now(), SORT_BY_START_DESC);
+            case PAST -> repository.streamAllByItemOwnerIdAndEndDateTimeIsBefore(
+                    userId, LocalDateTime.now(), SORT_BY_START_DESC);
+            case WAITING -> repository.streamAllByItemOwnerIdAndStatusEquals(
+                    userId, BookerStatus.WAITING, SORT_BY_START_DESC);
+            default -> repository.streamAllByItemOwnerIdAndStatusEquals(
+                    userId, BookerStatus.REJECTED, SORT_BY_START_DESC);
+        };
     }
 
-    private Collection<BookingDto> toDto(Collection<Booking> booking) {
+    private BookingDto toDto(Booking booking) {
         return BookingMapper.toDto(booking);
     }
 }
@@ -2,18 +2,24 @@ package ru.practicum.shareit.booking.util.enums;
 
 import ru.practicum.shareit.exception.ValidationException;
 
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 public enum State {
     ALL, CURRENT, PAST, FUTURE, WAITING, REJECTED;
 
+    private static final Map<String, State> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(Enum::name, Function.identity()));
+
     public static State fromString(String stateString) {
-        if (stateString != null) {
-            try {
-                return State.valueOf(stateString.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                throw new ValidationException(String.format("Нет соответствующего состояния для: %s", stateString));
-            }
-        }
-        return null;
+        if (stateString == null)
+            return null;
+        State state = BY_NAME.get(stateString.toUpperCase(Locale.ROOT));
+        if (state == null)
+            throw new ValidationException("Нет соответствующего состояния для: %s", stateString);
+        return state;
     }
 }
-
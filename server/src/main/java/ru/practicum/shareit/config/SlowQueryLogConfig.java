@@ -0,0 +1,36 @@
+package ru.practicum.shareit.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.base.metrics.SlowQueryLogListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.slow-query.enabled", havingValue = "true")
+public class SlowQueryLogConfig {
+    private static final String PRIMARY_DATA_SOURCE = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor slowQueryLogDataSourcePostProcessor(
+            @Value("${shareit.slow-query.threshold:200ms}") Duration threshold,
+            @Value("${shareit.slow-query.sample-rate:1.0}") double sampleRate) {
+        SlowQueryLogListener listener = new SlowQueryLogListener(threshold, sampleRate);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !PRIMARY_DATA_SOURCE.equals(beanName))
+                    return bean;
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(listener)
+                        .build();
+            }
+        };
+    }
+}
@@ -1,13 +1,28 @@
 package ru.practicum.shareit.exception;
 
-import lombok.Getter;
+import ru.practicum.shareit.exception.model.ErrorTemplate;
+
+public class AccessDeniedException extends ShareItException {
+    private static final ErrorTemplate ERROR_TEMPLATE = new ErrorTemplate("В доступе отказано");
 
-@Getter
-public class AccessDeniedException extends RuntimeException {
     private final int statusCode;
 
     public AccessDeniedException(String message, int statusCode) {
-        super(message);
+        this(statusCode, message);
+    }
+
+    public AccessDeniedException(int statusCode, String messagePattern, Object... messageArgs) {
+        super(messagePattern, messageArgs);
         this.statusCode = statusCode;
     }
+
+    @Override
+    public ErrorTemplate getErrorTemplate() {
+        return ERROR_TEMPLATE;
+    }
+
+    @Override
+    public int getStatusCode() {
+        return statusCode;
+    }
 }
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.exception;
+
+import ru.practicum.shareit.exception.model.ErrorTemplate;
+
+public class ConflictException extends ShareItException {
+    private static final ErrorTemplate ERROR_TEMPLATE = new ErrorTemplate("Конфликт параллельного изменения");
+
+    public ConflictException(String messagePattern, Object... messageArgs) {
+        super(messagePattern, messageArgs);
+    }
+
+    @Override
+    public ErrorTemplate getErrorTemplate() {
+        return ERROR_TEMPLATE;
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 409;
+    }
+}
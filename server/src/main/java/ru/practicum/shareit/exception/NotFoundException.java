@@ -1,7 +1,21 @@
 package ru.practicum.shareit.exception;
 
-public class NotFoundException extends RuntimeException {
-    public NotFoundException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.model.ErrorTemplate;
+
+public class NotFoundException extends ShareItException {
+    private static final ErrorTemplate ERROR_TEMPLATE = new ErrorTemplate("Запрашиваемый ресурс не найден");
+
+    public NotFoundException(String messagePattern, Object... messageArgs) {
+        super(messagePattern, messageArgs);
+    }
+
+    @Override
+    public ErrorTemplate getErrorTemplate() {
+        return ERROR_TEMPLATE;
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 404;
     }
 }
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.exception;
+
+import ru.practicum.shareit.exception.model.ErrorTemplate;
+
+public abstract class ShareItException extends RuntimeException {
+    private final String messagePattern;
+    private final transient Object[] messageArgs;
+    private String message;
+
+    protected ShareItException(String messagePattern, Object... messageArgs) {
+        super(null, null, false, false);
+        this.messagePattern = messagePattern;
+        this.messageArgs = messageArgs;
+    }
+
+    public abstract ErrorTemplate getErrorTemplate();
+
+    public abstract int getStatusCode();
+
+    @Override
+    public String getMessage() {
+        if (message == null)
+            message = messageArgs == null || messageArgs.length == 0
+                    ? messagePattern
+                    : String.format(messagePattern, messageArgs);
+        return message;
+    }
+}
@@ -1,7 +1,21 @@
 package ru.practicum.shareit.exception;
 
-public class UserEmailIsNotUnique extends RuntimeException {
-    public UserEmailIsNotUnique(String message) {
-        super(message);
+import ru.practicum.shareit.exception.model.ErrorTemplate;
+
+public class UserEmailIsNotUnique extends ShareItException {
+    private static final ErrorTemplate ERROR_TEMPLATE = new ErrorTemplate("Запрос не может быть выполнен");
+
+    public UserEmailIsNotUnique(String messagePattern, Object... messageArgs) {
+        super(messagePattern, messageArgs);
+    }
+
+    @Override
+    public ErrorTemplate getErrorTemplate() {
+        return ERROR_TEMPLATE;
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 409;
     }
 }
@@ -1,7 +1,21 @@
 package ru.practicum.shareit.exception;
 
-public class ValidationException extends RuntimeException {
-    public ValidationException(String message) {
-        super(message);
+import ru.practicum.shareit.exception.model.ErrorTemplate;
+
+public class ValidationException extends ShareItException {
+    private static final ErrorTemplate ERROR_TEMPLATE = new ErrorTemplate("Ошибка валидации");
+
+    public ValidationException(String messagePattern, Object... messageArgs) {
+        super(messagePattern, messageArgs);
+    }
+
+    @Override
+    public ErrorTemplate getErrorTemplate() {
+        return ERROR_TEMPLATE;
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 400;
     }
 }
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.exception.model;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class ErrorTemplate {
+    private static final JsonStringEncoder ENCODER = JsonStringEncoder.getInstance();
+    private static final byte[] NULL_DESCRIPTION = "null}".getBytes(StandardCharsets.UTF_8);
+
+    @Getter
+    private final String error;
+    private final byte[] prefix;
+
+    public ErrorTemplate(String error) {
+        this.error = error;
+        this.prefix = ("{\"error\":\"" + new String(ENCODER.quoteAsString(error)) + "\",\"description\":")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    public byte[] render(String description) {
+        if (description == null) {
+            byte[] body = Arrays.copyOf(prefix, prefix.length + NULL_DESCRIPTION.length);
+            System.arraycopy(NULL_DESCRIPTION, 0, body, prefix.length, NULL_DESCRIPTION.length);
+            return body;
+        }
+
+        byte[] encoded = ENCODER.quoteAsUTF8(description);
+        byte[] body = Arrays.copyOf(prefix, prefix.length + encoded.length + 3);
+        body[prefix.length] = '"';
+        System.arraycopy(encoded, 0, body, prefix.length + 1, encoded.length);
+        body[body.length - 2] = '"';
+        body[body.length - 1] = '}';
+        return body;
+    }
+}
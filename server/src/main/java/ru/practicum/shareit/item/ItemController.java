@@ -1,15 +1,20 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.base.streaming.NdjsonResponseWriter;
 import ru.practicum.shareit.item.dto.comment.CommentDto;
 import ru.practicum.shareit.item.dto.comment.RequestCreateCommentDto;
 import ru.practicum.shareit.item.dto.item.ItemDto;
 import ru.practicum.shareit.item.dto.item.RequestItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.IOException;
 import java.util.Collection;
 
 
@@ -18,20 +23,29 @@ import java.util.Collection;
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService itemService;
+    private final NdjsonResponseWriter ndjsonResponseWriter;
 
     @GetMapping
     public Collection<ItemDto> findAllItemsOfUser(@RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemService.findAllItemsByUserId(userId);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllItemsOfUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ndjsonResponseWriter.write(request, response, ItemDto.class,
+                action -> itemService.forEachItemOfUser(userId, action));
+    }
+
     @GetMapping("/{itemId}")
     public ItemDto findById(@PathVariable Long itemId) {
         return itemService.findItemById(itemId);
     }
 
     @GetMapping("/search")
-    public Collection<ItemDto> searchByNameAndDescription(@RequestParam("text") String text) {
-        return itemService.searchByNameAndDescription(text);
+    public Collection<ItemDto> searchByNameAndDescription(@RequestParam("text") String text,
+                                                          @RequestParam(required = false) Integer size) {
+        return itemService.searchByNameAndDescription(text, size);
     }
 
     @PostMapping
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto.item;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -27,6 +28,9 @@ public class ItemDto {
 
     private Collection<CommentDto> comments;
 
+    @JsonIgnore
+    private boolean bookingDatesExpired;
+
     public ItemDto(Long id, String name, String description, Boolean status, Long request) {
         this.id = id;
         this.name = name;
@@ -35,6 +39,14 @@ public class ItemDto {
         this.request = request;
     }
 
+    public ItemDto(Long id, String name, String description, Boolean status, Long request,
+                   LocalDateTime lastBooking, LocalDateTime nextBooking, boolean bookingDatesExpired) {
+        this(id, name, description, status, request);
+        this.lastBooking = lastBooking;
+        this.nextBooking = nextBooking;
+        this.bookingDatesExpired = bookingDatesExpired;
+    }
+
     public ItemDto(Long id, String name, String description,
                    Boolean status, Long request, Collection<CommentDto> comments) {
         this.id = id;
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto.item;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,4 +12,10 @@ public class ItemInItemRequestDto {
     private Long id;
     private String name;
     private Long ownerId;
+    @JsonIgnore
+    private Long requestId;
+
+    public ItemInItemRequestDto(Long id, String name, Long ownerId) {
+        this(id, name, ownerId, null);
+    }
 }
@@ -4,19 +4,28 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.base.model.BaseModel;
+import ru.practicum.shareit.booking.dto.ItemBookingDatesDto;
 import ru.practicum.shareit.item.util.enums.ItemStatus;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.Objects;
+
 @Entity
 @Table(name = "item")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
 public class Item implements BaseModel<Long> {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -33,10 +42,23 @@ public class Item implements BaseModel<Long> {
     @JoinColumn(name = "owner", nullable = false)
     private User owner;
 
-    @OneToOne(fetch = FetchType.EAGER)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request")
     private ItemRequest request;
 
+    @Column(name = "last_booking_end")
+    private LocalDateTime lastBookingEnd;
+
+    @Column(name = "next_booking_start")
+    private LocalDateTime nextBookingStart;
+
+    @Column(name = "booking_dates_expire_at")
+    private LocalDateTime bookingDatesExpireAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public Item(Long id, String name, String description, ItemStatus status, User owner, ItemRequest request) {
         this.id = id;
         this.name = name;
@@ -49,4 +71,31 @@ public class Item implements BaseModel<Long> {
     public boolean isAvailable() {
         return status == ItemStatus.AVAILABLE;
     }
+
+    public void addBookingDates(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        if (!end.isAfter(now) && (lastBookingEnd == null || end.isAfter(lastBookingEnd)))
+            lastBookingEnd = end;
+        if (start.isAfter(now) && (nextBookingStart == null || start.isBefore(nextBookingStart)))
+            nextBookingStart = start;
+
+        LocalDateTime expireAt = start.isAfter(now) ? start : end.isAfter(now) ? end : null;
+        if (expireAt != null && (bookingDatesExpireAt == null || expireAt.isBefore(bookingDatesExpireAt)))
+            bookingDatesExpireAt = expireAt;
+    }
+
+    public void setBookingDates(ItemBookingDatesDto bookingDates) {
+        lastBookingEnd = bookingDates == null ? null : bookingDates.getLastBooking();
+        nextBookingStart = bookingDates == null ? null : bookingDates.getNextBooking();
+        bookingDatesExpireAt = bookingDates == null ? null : bookingDates.getExpireAt();
+    }
+
+    public boolean isBookingDatesExpired(LocalDateTime now) {
+        return bookingDatesExpireAt != null && !bookingDatesExpireAt.isAfter(now);
+    }
+
+    public boolean hasBookingDates(ItemBookingDatesDto bookingDates) {
+        return Objects.equals(lastBookingEnd, bookingDates == null ? null : bookingDates.getLastBooking())
+                && Objects.equals(nextBookingStart, bookingDates == null ? null : bookingDates.getNextBooking())
+                && Objects.equals(bookingDatesExpireAt, bookingDates == null ? null : bookingDates.getExpireAt());
+    }
 }
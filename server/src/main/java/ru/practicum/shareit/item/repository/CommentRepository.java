@@ -8,6 +8,7 @@ import ru.practicum.shareit.item.dto.comment.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -16,4 +17,9 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
             "FROM Comment AS c " +
             "WHERE c.item.id = :itemId")
     Collection<CommentDto> findAllByItemId(@Param("itemId") Long itemId);
+
+    @Query("SELECT c FROM Comment AS c " +
+            "JOIN FETCH c.author " +
+            "WHERE c.item.id IN :itemIds")
+    List<Comment> findAllByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
 }
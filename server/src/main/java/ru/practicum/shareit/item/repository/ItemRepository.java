@@ -1,32 +1,91 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.dto.item.ItemDto;
 import ru.practicum.shareit.item.dto.item.ItemInItemRequestDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String STREAM_FETCH_SIZE = "500";
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :itemId")
+    Optional<Item> findByIdForUpdate(@Param("itemId") Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :itemIds ORDER BY i.id")
+    List<Item> findAllByIdInForUpdate(@Param("itemIds") Collection<Long> itemIds);
+
     @Query("SELECT new ru.practicum.shareit.item.dto.item.ItemDto(" +
-            "i.id, i.name, i.description, i.status = 'AVAILABLE', i.request.id) " +
+            "i.id, i.name, i.description, i.status = 'AVAILABLE', i.request.id, " +
+            "i.lastBookingEnd, i.nextBookingStart, " +
+            "CASE WHEN i.bookingDatesExpireAt <= :nowDate THEN true ELSE false END) " +
             "FROM Item i WHERE i.owner.id = :ownerId")
-    List<ItemDto> findAllByOwnerId(@Param("ownerId") Long ownerId);
+    List<ItemDto> findAllByOwnerId(@Param("ownerId") Long ownerId, @Param("nowDate") LocalDateTime nowDate);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT new ru.practicum.shareit.item.dto.item.ItemDto(" +
+            "i.id, i.name, i.description, i.status = 'AVAILABLE', i.request.id, " +
+            "i.lastBookingEnd, i.nextBookingStart, " +
+            "CASE WHEN i.bookingDatesExpireAt <= :nowDate THEN true ELSE false END) " +
+            "FROM Item i WHERE i.owner.id = :ownerId")
+    Stream<ItemDto> streamAllByOwnerId(@Param("ownerId") Long ownerId, @Param("nowDate") LocalDateTime nowDate);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.bookingDatesExpireAt <= :nowDate ORDER BY i.id")
+    List<Item> findAllWithExpiredBookingDatesForUpdate(@Param("nowDate") LocalDateTime nowDate, Limit limit);
+
+    @Query("SELECT i.id FROM Item i WHERE i.id > :afterId ORDER BY i.id")
+    List<Long> findIdsAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT i.id FROM Item i " +
+            "WHERE i.id > :afterId AND i.id <= :toId " +
+            "AND (i.lastBookingEnd IS DISTINCT FROM (" +
+            "SELECT MAX(CASE WHEN b.endDateTime <= :nowDate THEN b.endDateTime END) " +
+            "FROM Booking b WHERE b.item.id = i.id) " +
+            "OR i.nextBookingStart IS DISTINCT FROM (" +
+            "SELECT MIN(CASE WHEN b.startDateTime > :nowDate THEN b.startDateTime END) " +
+            "FROM Booking b WHERE b.item.id = i.id) " +
+            "OR i.bookingDatesExpireAt IS DISTINCT FROM (" +
+            "SELECT MIN(CASE WHEN b.startDateTime > :nowDate THEN b.startDateTime " +
+            "WHEN b.endDateTime > :nowDate THEN b.endDateTime END) " +
+            "FROM Booking b WHERE b.item.id = i.id)) " +
+            "ORDER BY i.id")
+    List<Long> findIdsWithStaleBookingDates(@Param("afterId") Long afterId, @Param("toId") Long toId,
+                                            @Param("nowDate") LocalDateTime nowDate);
 
     @Query("SELECT new ru.practicum.shareit.item.dto.item.ItemDto(" +
             "i.id, i.name, i.description, i.status = 'AVAILABLE', i.request.id) " +
             "FROM Item i " +
             "WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
             "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
-            "AND i.status = 'AVAILABLE'")
-    List<ItemDto> findFilteredItemsByOwnerId(@Param("text") String text);
+            "AND i.status = 'AVAILABLE' " +
+            "ORDER BY CASE WHEN LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) THEN 0 ELSE 1 END, i.id")
+    List<ItemDto> findFilteredItemsByOwnerId(@Param("text") String text, Limit limit);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.item.ItemDto(" +
+            "i.id, i.name, i.description, i.status = 'AVAILABLE', i.request.id) " +
+            "FROM Item i WHERE i.id > :afterId AND i.status = 'AVAILABLE' ORDER BY i.id")
+    List<ItemDto> findAvailableItemsAfterId(@Param("afterId") Long afterId, Limit limit);
 
     @Query("SELECT new ru.practicum.shareit.item.dto.item.ItemInItemRequestDto(" +
-            "i.id, i.name, i.owner.id) " +
-            "FROM Item i WHERE i.request.id = :requestId")
-    List<ItemInItemRequestDto> findAllItemByRequestId(@Param("requestId") Long itemRequestId);
+            "i.id, i.name, i.owner.id, i.request.id) " +
+            "FROM Item i WHERE i.request.id IN :requestIds")
+    List<ItemInItemRequestDto> findAllItemByRequestIdIn(@Param("requestIds") Collection<Long> itemRequestIds);
 }
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.item.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+public class IndexedItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+    private final SqlItemSearchEngine fallback;
+    private final int batchSize;
+
+    private volatile ItemSearchIndex index;
+    private List<ItemChangedEvent> pendingEvents = new ArrayList<>();
+
+    public IndexedItemSearchEngine(ItemRepository itemRepository, SqlItemSearchEngine fallback,
+                                   @Value("${shareit.search.index.batch-size:1000}") int batchSize) {
+        this.itemRepository = itemRepository;
+        this.fallback = fallback;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public List<ItemDto> search(String text, int limit) {
+        ItemSearchIndex currentIndex = index;
+        if (currentIndex == null || text.length() < ItemSearchIndex.GRAM_LENGTH)
+            return fallback.search(text, limit);
+        return currentIndex.search(text, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread.ofPlatform().daemon().name("item-search-index").start(this::rebuild);
+    }
+
+    public void rebuild() {
+        synchronized (this) {
+            index = null;
+            if (pendingEvents == null)
+                pendingEvents = new ArrayList<>();
+        }
+        log.info("Построение поискового индекса Item запущено");
+
+        ItemSearchIndex freshIndex = new ItemSearchIndex();
+        try {
+            long lastId = 0L;
+            List<ItemDto> batch;
+            do {
+                batch = itemRepository.findAvailableItemsAfterId(lastId, Limit.of(batchSize));
+                batch.forEach(freshIndex::put);
+                if (!batch.isEmpty())
+                    lastId = batch.getLast().getId();
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Не удалось построить поисковый индекс Item, поиск выполняется через БД", e);
+            return;
+        }
+
+        synchronized (this) {
+            pendingEvents.forEach(event -> apply(freshIndex, event));
+            pendingEvents = null;
+            index = freshIndex;
+        }
+        log.info("Поисковый индекс Item построен (size={})", freshIndex.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onItemChanged(ItemChangedEvent event) {
+        if (pendingEvents != null)
+            pendingEvents.add(event);
+        else
+            apply(index, event);
+    }
+
+    private static void apply(ItemSearchIndex index, ItemChangedEvent event) {
+        if (event.isDeleted())
+            index.remove(event.getItemId());
+        else
+            index.put(event.getItem());
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.item.ItemDto;
+
+@Getter
+@AllArgsConstructor
+public class ItemChangedEvent {
+    private final Long itemId;
+    private final ItemDto item;
+
+    public static ItemChangedEvent saved(ItemDto item) {
+        return new ItemChangedEvent(item.getId(), item);
+    }
+
+    public static ItemChangedEvent deleted(Long itemId) {
+        return new ItemChangedEvent(itemId, null);
+    }
+
+    public boolean isDeleted() {
+        return item == null;
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.item.ItemDto;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+public class ItemSearchIndex {
+    static final int GRAM_LENGTH = 3;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(ItemDto item) {
+        lock.writeLock().lock();
+        try {
+            removeFromPostings(items.remove(item.getId()));
+            if (!Boolean.TRUE.equals(item.getStatus()))
+                return;
+
+            IndexedItem indexedItem = new IndexedItem(item);
+            items.put(item.getId(), indexedItem);
+            indexedItem.grams().forEach(gram ->
+                    postings.computeIfAbsent(gram, key -> new HashSet<>()).add(item.getId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeFromPostings(items.remove(itemId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ItemDto> search(String text, int limit) {
+        String query = text.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            return candidates(query).stream()
+                    .map(items::get)
+                    .filter(item -> item.matches(query))
+                    .sorted(Comparator.comparingInt((IndexedItem item) -> item.rank(query))
+                            .thenComparing(IndexedItem::id))
+                    .limit(limit)
+                    .map(IndexedItem::toDto)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM_LENGTH)
+            return items.keySet();
+
+        List<Set<Long>> matchedPostings = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null)
+                return List.of();
+            matchedPostings.add(posting);
+        }
+        matchedPostings.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> smallest = matchedPostings.getFirst();
+        List<Set<Long>> others = matchedPostings.subList(1, matchedPostings.size());
+        return smallest.stream()
+                .filter(itemId -> others.stream().allMatch(posting -> posting.contains(itemId)))
+                .toList();
+    }
+
+    private void removeFromPostings(IndexedItem item) {
+        if (item == null)
+            return;
+        item.grams().forEach(gram -> {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null && posting.remove(item.id()) && posting.isEmpty())
+                postings.remove(gram);
+        });
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++)
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        return grams;
+    }
+
+    private record IndexedItem(Long id, String name, String description, Long request,
+                               String lowerName, String lowerDescription, Set<String> nameTokens) {
+        IndexedItem(ItemDto item) {
+            this(item.getId(), item.getName(), item.getDescription(), item.getRequest(),
+                    lower(item.getName()), lower(item.getDescription()), tokens(lower(item.getName())));
+        }
+
+        Set<String> grams() {
+            Set<String> grams = ItemSearchIndex.grams(lowerName);
+            grams.addAll(ItemSearchIndex.grams(lowerDescription));
+            return grams;
+        }
+
+        boolean matches(String query) {
+            return lowerName.contains(query) || lowerDescription.contains(query);
+        }
+
+        int rank(String query) {
+            if (nameTokens.contains(query))
+                return 0;
+            return lowerName.contains(query) ? 1 : 2;
+        }
+
+        ItemDto toDto() {
+            return new ItemDto(id, name, description, true, request);
+        }
+
+        private static String lower(String text) {
+            return text == null ? "" : text.toLowerCase(Locale.ROOT);
+        }
+
+        private static Set<String> tokens(String text) {
+            return Set.of(TOKEN_SEPARATOR.splitAsStream(text)
+                    .filter(token -> !token.isEmpty())
+                    .distinct()
+                    .toArray(String[]::new));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.ItemBookingDatesDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+
+@Slf4j
+@Component
+public class ItemBookingDatesRefresher {
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ItemBookingDatesRefresher(ItemRepository itemRepository, BookingRepository bookingRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${shareit.items.booking-dates.batch-size:1000}") int batchSize) {
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${shareit.items.booking-dates.refresh-interval:PT1M}",
+            fixedDelayString = "${shareit.items.booking-dates.refresh-interval:PT1M}")
+    public int refreshExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int refreshed = 0;
+        Integer batchRefreshed;
+        do {
+            batchRefreshed = transactionTemplate.execute(status -> {
+                List<Item> items = itemRepository.findAllWithExpiredBookingDatesForUpdate(now, Limit.of(batchSize));
+                Map<Long, ItemBookingDatesDto> bookingDates = findBookingDates(items, now);
+                items.forEach(item -> item.setBookingDates(bookingDates.get(item.getId())));
+                return items.size();
+            });
+            refreshed += batchRefreshed;
+        } while (batchRefreshed == batchSize);
+
+        if (refreshed > 0)
+            log.debug("Даты бронирований обновлены у {} Item", refreshed);
+        return refreshed;
+    }
+
+    @Scheduled(cron = "${shareit.items.booking-dates.reconcile-cron:-}")
+    public int reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        int mismatches = 0;
+        long afterId = 0L;
+        List<Long> itemIds;
+        do {
+            itemIds = itemRepository.findIdsAfterId(afterId, Limit.of(batchSize));
+            if (itemIds.isEmpty())
+                break;
+            List<Long> staleIds = itemRepository.findIdsWithStaleBookingDates(afterId, itemIds.getLast(), now);
+            if (!staleIds.isEmpty()) {
+                List<Long> mismatchedIds = transactionTemplate.execute(status -> repairBookingDates(staleIds, now));
+                if (!mismatchedIds.isEmpty())
+                    log.warn("Даты бронирований Item{ids={}} расходились с таблицей booking и были исправлены",
+                            mismatchedIds);
+                mismatches += mismatchedIds.size();
+            }
+            afterId = itemIds.getLast();
+        } while (itemIds.size() == batchSize);
+
+        log.info("Сверка дат бронирований Item завершена (mismatches={})", mismatches);
+        return mismatches;
+    }
+
+    private List<Long> repairBookingDates(List<Long> itemIds, LocalDateTime now) {
+        List<Item> items = itemRepository.findAllByIdInForUpdate(itemIds);
+        Map<Long, ItemBookingDatesDto> bookingDates = findBookingDates(items, now);
+        List<Long> mismatchedIds = new ArrayList<>();
+        items.forEach(item -> {
+            ItemBookingDatesDto actual = bookingDates.get(item.getId());
+            if (item.hasBookingDates(actual))
+                return;
+            if (!item.isBookingDatesExpired(now))
+                mismatchedIds.add(item.getId());
+            item.setBookingDates(actual);
+        });
+        return mismatchedIds;
+    }
+
+    private Map<Long, ItemBookingDatesDto> findBookingDates(List<Item> items, LocalDateTime now) {
+        if (items.isEmpty())
+            return Map.of();
+        return bookingRepository.findBookingDatesByItemIds(items.stream().map(Item::getId).toList(), now).stream()
+                .collect(toMap(ItemBookingDatesDto::getItemId, Function.identity()));
+    }
+}
@@ -8,6 +8,8 @@ import ru.practicum.shareit.item.dto.item.RequestItemDto;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService extends BaseService<Item, Long> {
     ItemDto create(Long userId, RequestItemDto item);
@@ -16,9 +18,15 @@ public interface ItemService extends BaseService<Item, Long> {
 
     ItemDto findItemById(Long itemId);
 
+    Item findByIdForUpdate(Long itemId);
+
+    List<Item> findAllByIdForUpdate(Collection<Long> itemIds);
+
     Collection<ItemDto> findAllItemsByUserId(Long userId);
 
-    Collection<ItemDto> searchByNameAndDescription(String text);
+    void forEachItemOfUser(Long userId, Consumer<ItemDto> action);
+
+    Collection<ItemDto> searchByNameAndDescription(String text, Integer size);
 
     CommentDto saveCommentToItem(Long userId, Long itemId, RequestCreateCommentDto requestCreateCommentDto);
 }
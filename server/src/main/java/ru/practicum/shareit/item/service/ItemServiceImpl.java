@@ -1,11 +1,20 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.base.pagination.ScrollParams;
 import ru.practicum.shareit.base.service.BaseInDbService;
+import ru.practicum.shareit.base.service.ConflictRetryExecutor;
+import ru.practicum.shareit.booking.dto.ItemBookingDatesDto;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.comment.CommentDto;
 import ru.practicum.shareit.item.dto.comment.RequestCreateCommentDto;
 import ru.practicum.shareit.item.dto.item.ItemDto;
@@ -16,15 +25,23 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemChangedEvent;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
-import static java.lang.String.format;
+import static java.util.stream.Collectors.*;
 
 @Slf4j
 @Service
@@ -33,25 +50,42 @@ public class ItemServiceImpl extends BaseInDbService<Item, ItemRepository> imple
     private final ItemRequestService requestService;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
+    private final ItemSearchEngine searchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConflictRetryExecutor conflictRetryExecutor;
+    private final EntityManager entityManager;
+    private final int streamChunkSize;
 
     @Autowired
     protected ItemServiceImpl(ItemRepository repository,
-                              UserService userService, ItemRequestService requestService, CommentRepository commentRepository, BookingRepository bookingRepository) {
+                              UserService userService, ItemRequestService requestService, CommentRepository commentRepository, BookingRepository bookingRepository,
+                              ItemSearchEngine searchEngine, ApplicationEventPublisher eventPublisher,
+                              ConflictRetryExecutor conflictRetryExecutor, EntityManager entityManager,
+                              @Value("${shareit.streaming.chunk-size:500}") int streamChunkSize) {
         super(repository, "Item");
         this.userService = userService;
         this.requestService = requestService;
         this.commentRepository = commentRepository;
         this.bookingRepository = bookingRepository;
+        this.searchEngine = searchEngine;
+        this.eventPublisher = eventPublisher;
+        this.conflictRetryExecutor = conflictRetryExecutor;
+        this.entityManager = entityManager;
+        this.streamChunkSize = streamChunkSize;
     }
 
     @Override
     public ItemDto update(Long userId, Long itemId, RequestItemDto itemDto) {
+        return conflictRetryExecutor.execute("Item", itemId, () -> applyUpdate(userId, itemId, itemDto));
+    }
+
+    private ItemDto applyUpdate(Long userId, Long itemId, RequestItemDto itemDto) {
         Item item = ItemMapper.fromDto(itemId, itemDto);
         User user = userService.findById(userId);
         Item storageItem = super.findById(item.getId());
         if (!storageItem.getOwner().equals(user))
-            throw new AccessDeniedException(
-                    format("User{id=%d} не имеет доступ к Item{id=%d}", userId, item.getId()), 403);
+            throw new AccessDeniedException(403,
+                    "User{id=%d} не имеет доступ к Item{id=%d}", userId, item.getId());
 
         if (item.getName() != null && !item.getName().isBlank())
             storageItem.setName(item.getName());
@@ -61,38 +95,104 @@ public class ItemServiceImpl extends BaseInDbService<Item, ItemRepository> imple
             storageItem.setStatus(item.getStatus());
         }
 
+        ItemDto updatedItem = this.toDto(storageItem);
+        eventPublisher.publishEvent(ItemChangedEvent.saved(updatedItem));
         log.info("Item{id={}} у User{id={}} успешно обновлен", storageItem.getId(), userId);
-        return this.toDto(storageItem);
+        return updatedItem;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDto findItemById(Long itemId) {
         return this.toDto(this.findById(itemId), commentRepository.findAllByItemId(itemId));
     }
 
     @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Item findByIdForUpdate(Long itemId) {
+        return super.repository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> notFound(itemId));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Item> findAllByIdForUpdate(Collection<Long> itemIds) {
+        if (itemIds.isEmpty())
+            return List.of();
+        return super.repository.findAllByIdInForUpdate(itemIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Collection<ItemDto> findAllItemsByUserId(Long userId) {
-        List<ItemDto> foundItems = super.repository.findAllByOwnerId(userId);
-        foundItems.forEach(itemDto -> {
-            Long itemId = itemDto.getId();
-            itemDto.setComments(commentRepository.findAllByItemId(itemId));
-            LocalDateTime now = LocalDateTime.now();
-            bookingRepository.findNextBookingByItemId(itemId, now)
-                    .ifPresent(booking -> itemDto.setNextBooking(booking.getStartDateTime()));
-            bookingRepository.findLatestBookingByItemId(itemId, now)
-                    .ifPresent(booking -> itemDto.setLastBooking(booking.getEndDateTime()));
-
-        });
-        log.debug("Все Item, принадлежающие пользователю User{id{}} успешно найдены", userId);
+        LocalDateTime now = LocalDateTime.now();
+        List<ItemDto> foundItems = super.repository.findAllByOwnerId(userId, now);
+        fillCommentsAndBookingDates(foundItems, now);
+        log.debug("Все Item, принадлежающие пользователю User{id{}} успешно найдены (size={})",
+                userId, foundItems.size());
         return foundItems;
     }
 
     @Override
-    public Collection<ItemDto> searchByNameAndDescription(String text) {
+    @Transactional(readOnly = true)
+    public void forEachItemOfUser(Long userId, Consumer<ItemDto> action) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ItemDto> chunk = new ArrayList<>(streamChunkSize);
+        int count = 0;
+        try (Stream<ItemDto> items = repository.streamAllByOwnerId(userId, now)) {
+            Iterator<ItemDto> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == streamChunkSize)
+                    count += writeChunk(chunk, now, action);
+            }
+            count += writeChunk(chunk, now, action);
+        }
+        log.debug("Все Item, принадлежающие пользователю User{id{}} успешно выгружены (size={})", userId, count);
+    }
+
+    private int writeChunk(List<ItemDto> chunk, LocalDateTime now, Consumer<ItemDto> action) {
+        int size = chunk.size();
+        fillCommentsAndBookingDates(chunk, now);
+        chunk.forEach(action);
+        chunk.clear();
+        entityManager.clear();
+        return size;
+    }
+
+    private void fillCommentsAndBookingDates(List<ItemDto> foundItems, LocalDateTime now) {
+        if (foundItems.isEmpty())
+            return;
+
+        List<Long> itemIds = foundItems.stream().map(ItemDto::getId).toList();
+        Map<Long, List<CommentDto>> commentsByItemId = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(groupingBy(comment -> comment.getItem().getId(),
+                        mapping(CommentMapper::toDto, toList())));
+        foundItems.forEach(itemDto -> itemDto.setComments(commentsByItemId.getOrDefault(itemDto.getId(), List.of())));
+
+        List<ItemDto> expiredItems = foundItems.stream().filter(ItemDto::isBookingDatesExpired).toList();
+        if (!expiredItems.isEmpty()) {
+            Map<Long, ItemBookingDatesDto> bookingDatesByItemId = bookingRepository.findBookingDatesByItemIds(
+                            expiredItems.stream().map(ItemDto::getId).toList(), now).stream()
+                    .collect(toMap(ItemBookingDatesDto::getItemId, Function.identity()));
+            expiredItems.forEach(itemDto -> {
+                ItemBookingDatesDto bookingDates = bookingDatesByItemId.get(itemDto.getId());
+                itemDto.setLastBooking(bookingDates != null ? bookingDates.getLastBooking() : null);
+                itemDto.setNextBooking(bookingDates != null ? bookingDates.getNextBooking() : null);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<ItemDto> searchByNameAndDescription(String text, Integer size) {
         if (text == null || text.isBlank())
             return List.of();
+        if (size != null && size <= 0)
+            throw new ValidationException("Параметр size должен быть положительным: %d", size);
 
-        Collection<ItemDto> foundItems = super.repository.findFilteredItemsByOwnerId(text);
+        int limit = size == null ? ScrollParams.MAX_SIZE : Math.min(size, ScrollParams.MAX_SIZE);
+        Collection<ItemDto> foundItems = searchEngine.search(text, limit);
 
         log.debug("Все Item's, имеющие подстроку {} в поле name или description успешно найдены (size={})",
                 text, foundItems.size());
@@ -100,6 +200,7 @@ public class ItemServiceImpl extends BaseInDbService<Item, ItemRepository> imple
     }
 
     @Override
+    @Transactional
     public CommentDto saveCommentToItem(Long userId, Long itemId, RequestCreateCommentDto requestCreateCommentDto) {
         LocalDateTime dateTime = LocalDateTime.now();
 
@@ -107,8 +208,8 @@ public class ItemServiceImpl extends BaseInDbService<Item, ItemRepository> imple
         Item storageItem = super.findById(itemId);
 
         if (!bookingRepository.existsByBookerIdAndItemIdAndEndDateTimeIsBefore(userId, itemId, dateTime))
-            throw new AccessDeniedException(
-                    format("User{id=%d} не может оставлять комментарии к Item{id=%d}", userId, itemId), 400);
+            throw new AccessDeniedException(400,
+                    "User{id=%d} не может оставлять комментарии к Item{id=%d}", userId, itemId);
 
         Comment comment = CommentMapper.fromDto(requestCreateCommentDto);
         comment.setItem(storageItem);
@@ -120,6 +221,7 @@ public class ItemServiceImpl extends BaseInDbService<Item, ItemRepository> imple
     }
 
     @Override
+    @Transactional
     public ItemDto create(Long userId, RequestItemDto requestItemDto) {
         Item item = ItemMapper.fromDto(requestItemDto);
         Long itemRequestId = requestItemDto.getRequestId();
@@ -129,8 +231,17 @@ public class ItemServiceImpl extends BaseInDbService<Item, ItemRepository> imple
         User foundUser = userService.findById(userId);
         item.setOwner(foundUser);
         Item savedItem = super.save(item);
+        ItemDto savedItemDto = this.toDto(savedItem);
+        eventPublisher.publishEvent(ItemChangedEvent.saved(savedItemDto));
         log.info("Item{id={}} успешно сохранен у пользователя User{id={}}", savedItem.getId(), userId);
-        return this.toDto(savedItem);
+        return savedItemDto;
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(Long itemId) {
+        super.deleteById(itemId);
+        eventPublisher.publishEvent(ItemChangedEvent.deleted(itemId));
     }
 
 
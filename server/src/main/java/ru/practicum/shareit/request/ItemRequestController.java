@@ -1,13 +1,18 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.base.pagination.KeysetCursor;
+import ru.practicum.shareit.base.pagination.ScrollParams;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/requests")
@@ -28,8 +33,16 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public Collection<ItemRequestDto> getAll(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        return service.findAll(userId);
+    public ResponseEntity<List<ItemRequestDto>> getAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                       @RequestParam(required = false) Integer from,
+                                                       @RequestParam(required = false) Integer size,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "false") boolean withItems) {
+        Window<ItemRequestDto> requests = service.findAll(userId, new ScrollParams(from, size, cursor), withItems);
+        return ResponseEntity.ok()
+                .headers(KeysetCursor.nextCursorHeaders(requests,
+                        request -> new KeysetCursor(request.getCreated(), request.getId())))
+                .body(requests.getContent());
     }
 
     @GetMapping("/{requestId}")
@@ -1,5 +1,9 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,9 +21,5 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
             "ORDER BY ir.created DESC")
     Collection<ItemRequestDto> findAllRequestsOfUser(@Param("requestorId") Long userId);
 
-    @Query("SELECT new ru.practicum.shareit.request.dto.ItemRequestDto(ir.id, ir.description, ir.created) " +
-            "FROM ItemRequest ir " +
-            "WHERE ir.requestor.id <> :requestorId " +
-            "ORDER BY ir.created DESC")
-    Collection<ItemRequestDto> findAll(@Param("requestorId") Long userId);
+    Window<ItemRequest> findAllByRequestorIdNot(Long requestorId, ScrollPosition position, Sort sort, Limit limit);
 }
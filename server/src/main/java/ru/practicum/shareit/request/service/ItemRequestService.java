@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request.service;
 
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.base.pagination.ScrollParams;
 import ru.practicum.shareit.base.service.BaseService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestItemRequestDto;
@@ -12,7 +14,7 @@ public interface ItemRequestService extends BaseService<ItemRequest, Long> {
 
     Collection<ItemRequestDto> findAllRequestsOfUser(Long userId);
 
-    Collection<ItemRequestDto> findAll(Long userId);
+    Window<ItemRequestDto> findAll(Long userId, ScrollParams scrollParams, boolean withItems);
 
     ItemRequestDto findItemRequestBy(Long id);
 }
@@ -2,7 +2,12 @@ package ru.practicum.shareit.request.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.base.pagination.ScrollParams;
 import ru.practicum.shareit.base.service.BaseInDbService;
 import ru.practicum.shareit.item.dto.item.ItemInItemRequestDto;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -15,25 +20,37 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Service
 public class ItemRequestServiceImpl extends BaseInDbService<ItemRequest, ItemRequestRepository> implements ItemRequestService {
+    private static final int RESPONSES_BATCH_SIZE = 500;
+    private static final String CREATED = "created";
+    private static final Sort SORT_BY_CREATED_DESC = Sort.by(Sort.Direction.DESC, CREATED, "id");
+
     private final UserService userService;
     private final ItemRepository itemRepository;
+    private final int maxPageSize;
 
     @Autowired
     public ItemRequestServiceImpl(ItemRequestRepository repository,
-                                  UserService userService, ItemRepository itemRepository) {
+                                  UserService userService, ItemRepository itemRepository,
+                                  @Value("${shareit.requests.page.max-size:100}") int maxPageSize) {
         super(repository, "ItemRequest");
         this.userService = userService;
         this.itemRepository = itemRepository;
+        this.maxPageSize = maxPageSize;
     }
 
     @Override
+    @Transactional
     public ItemRequestDto create(Long userId, RequestItemRequestDto itemRequestDto) {
         ItemRequest itemRequest = ItemRequestMapper.fromDto(itemRequestDto);
         User user = userService.findById(userId);
@@ -44,22 +61,31 @@ public class ItemRequestServiceImpl extends BaseInDbService<ItemRequest, ItemReq
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<ItemRequestDto> findAllRequestsOfUser(Long userId) {
         Collection<ItemRequestDto> allRequestsOfUser = repository.findAllRequestsOfUser(userId);
-        allRequestsOfUser.forEach(this::fillResponses);
+        fillResponses(allRequestsOfUser);
 
         return allRequestsOfUser;
     }
 
     @Override
-    public Collection<ItemRequestDto> findAll(Long userId) {
-        return super.repository.findAll(userId);
+    @Transactional(readOnly = true)
+    public Window<ItemRequestDto> findAll(Long userId, ScrollParams scrollParams, boolean withItems) {
+        Window<ItemRequestDto> requests = repository.findAllByRequestorIdNot(userId,
+                        scrollParams.toScrollPosition(CREATED), SORT_BY_CREATED_DESC, scrollParams.toLimit(maxPageSize))
+                .map(ItemRequestServiceImpl::toDto);
+        if (withItems)
+            fillResponses(requests.getContent());
+
+        return requests;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto findItemRequestBy(Long id) {
         ItemRequestDto foundItemRequest = toDto(super.findById(id));
-        fillResponses(foundItemRequest);
+        fillResponses(List.of(foundItemRequest));
         return foundItemRequest;
     }
 
@@ -67,11 +93,27 @@ public class ItemRequestServiceImpl extends BaseInDbService<ItemRequest, ItemReq
         return ItemRequestMapper.toDto(itemRequest);
     }
 
-    private void fillResponses(ItemRequestDto itemRequestDto) {
-        List<ItemInItemRequestDto> allItemByRequestId = itemRepository.findAllItemByRequestId(itemRequestDto.getId());
-        log.debug("Все Item в ответ на запрос ItemRequest{id={}} возвращены ::/ return [size={}]",
-                itemRequestDto.getId(), allItemByRequestId.size());
+    private void fillResponses(Collection<ItemRequestDto> itemRequests) {
+        if (itemRequests.isEmpty())
+            return;
+
+        List<Long> requestIds = itemRequests.stream().map(ItemRequestDto::getId).toList();
+        Map<Long, List<ItemInItemRequestDto>> responsesByRequestId = new HashMap<>();
+        for (int from = 0; from < requestIds.size(); from += RESPONSES_BATCH_SIZE) {
+            List<Long> chunk = requestIds.subList(from, Math.min(from + RESPONSES_BATCH_SIZE, requestIds.size()));
+            itemRepository.findAllItemByRequestIdIn(chunk).forEach(item ->
+                    responsesByRequestId.computeIfAbsent(item.getRequestId(), key -> new ArrayList<>()).add(item));
+        }
+        log.debug("Все Item в ответ на запросы ItemRequest возвращены ::/ return [requests={}, withResponses={}]",
+                requestIds.size(), responsesByRequestId.size());
 
-        itemRequestDto.setResponses(new HashSet<>(allItemByRequestId));
+        itemRequests.forEach(itemRequest -> {
+            List<ItemInItemRequestDto> responses = responsesByRequestId.get(itemRequest.getId());
+            if (responses == null)
+                return;
+            Set<ItemInItemRequestDto> responseSet = HashSet.newHashSet(responses.size());
+            responseSet.addAll(responses);
+            itemRequest.setResponses(responseSet);
+        });
     }
 }
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.RequestUserDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
@@ -22,7 +23,9 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDto findById(@PathVariable Long userId) {
+    public UserDto findById(@PathVariable Long userId, WebRequest request) {
+        if (request.checkNotModified(userId + "-" + userService.findVersionById(userId)))
+            return null;
         return userService.findUserById(userId);
     }
 
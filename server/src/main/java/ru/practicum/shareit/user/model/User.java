@@ -5,16 +5,21 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.base.model.BaseModel;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
 public class User implements BaseModel<Long> {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -23,6 +28,10 @@ public class User implements BaseModel<Long> {
     @Column(name = "email", unique = true, nullable = false)
     private String email;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public User(Long id, String name, String email) {
         this.id = id;
         this.name = name;
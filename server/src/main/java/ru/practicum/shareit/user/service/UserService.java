@@ -17,9 +17,9 @@ public interface UserService extends BaseService<User, Long> {
 
     UserDto findUserById(Long id);
 
-    void checkExistsById(Long id);
+    Long findVersionById(Long id);
 
-    boolean existsById(Long id);
+    void checkExistsById(Long id);
 
     Collection<UserDto> getAll();
 }
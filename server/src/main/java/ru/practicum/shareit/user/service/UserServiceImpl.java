@@ -3,7 +3,9 @@ package ru.practicum.shareit.user.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.base.service.BaseInDbService;
+import ru.practicum.shareit.base.service.ConflictRetryExecutor;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UserEmailIsNotUnique;
 import ru.practicum.shareit.user.dto.RequestUserDto;
@@ -15,18 +17,19 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.util.Collection;
 import java.util.Optional;
 
-import static java.lang.String.format;
-
 @Slf4j
 @Service
 public class UserServiceImpl extends BaseInDbService<User, UserRepository> implements UserService {
+    private final ConflictRetryExecutor conflictRetryExecutor;
 
     @Autowired
-    public UserServiceImpl(UserRepository repository) {
+    public UserServiceImpl(UserRepository repository, ConflictRetryExecutor conflictRetryExecutor) {
         super(repository, "User");
+        this.conflictRetryExecutor = conflictRetryExecutor;
     }
 
     @Override
+    @Transactional
     public UserDto create(RequestUserDto userDto) {
         User user = UserMapper.fromDto(userDto);
         checkingValidationEmail(user);
@@ -37,6 +40,10 @@ public class UserServiceImpl extends BaseInDbService<User, UserRepository> imple
 
     @Override
     public UserDto update(Long userId, RequestUserDto userDto) {
+        return conflictRetryExecutor.execute("User", userId, () -> applyUpdate(userId, userDto));
+    }
+
+    private UserDto applyUpdate(Long userId, RequestUserDto userDto) {
         User user = UserMapper.fromDto(userId, userDto);
         User storageUser = super.findById(user.getId());
 
@@ -54,29 +61,34 @@ public class UserServiceImpl extends BaseInDbService<User, UserRepository> imple
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<UserDto> findByEmail(String email) {
         Optional<User> anyUser = repository.findByEmail(email);
         return anyUser.map(this::toDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto findUserById(Long id) {
         return this.toDto(super.findById(id));
     }
 
     @Override
-    public void checkExistsById(Long id) {
-        if (!super.repository.existsById(id))
-            throw new NotFoundException(format("User{id=%d} не существует", id));
+    @Transactional(readOnly = true)
+    public Long findVersionById(Long id) {
+        return super.findById(id).getVersion();
     }
 
     @Override
-    public boolean existsById(Long id) {
-        return super.repository.existsById(id);
+    @Transactional(readOnly = true)
+    public void checkExistsById(Long id) {
+        if (!super.existsById(id))
+            throw new NotFoundException("User{id=%d} не существует", id);
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<UserDto> getAll() {
         return this.toDto(super.findAll());
     }
@@ -1,9 +1,3 @@
-DROP TABLE IF EXISTS comment;
-DROP TABLE IF EXISTS booking;
-DROP TABLE IF EXISTS item;
-DROP TABLE IF EXISTS item_request;
-DROP TABLE IF EXISTS users;
-
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
@@ -30,8 +24,7 @@ CREATE TABLE IF NOT EXISTS item (
     CONSTRAINT uq_owner_item_name UNIQUE(owner, name)
 );
 
-
-CREATE TABLE booking (
+CREATE TABLE IF NOT EXISTS booking (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     start_date_time TIMESTAMP NOT NULL,
     end_date_time TIMESTAMP NOT NULL,
@@ -43,8 +36,7 @@ CREATE TABLE booking (
     CONSTRAINT fk_booking_booker FOREIGN KEY (booker) REFERENCES users (id) ON DELETE CASCADE
 );
 
-
-CREATE TABLE comment (
+CREATE TABLE IF NOT EXISTS comment (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     text VARCHAR(1024) NOT NULL,
     item BIGINT NOT NULL,
@@ -0,0 +1,13 @@
+CREATE INDEX IF NOT EXISTS idx_booking_booker_start ON booking (booker, start_date_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_booking_booker_end ON booking (booker, end_date_time);
+CREATE INDEX IF NOT EXISTS idx_booking_booker_status_start ON booking (booker, status, start_date_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_booking_booker_item_end ON booking (booker, item, end_date_time);
+
+CREATE INDEX IF NOT EXISTS idx_booking_item_start_end ON booking (item, start_date_time, end_date_time);
+CREATE INDEX IF NOT EXISTS idx_booking_item_status_start ON booking (item, status, start_date_time);
+
+CREATE INDEX IF NOT EXISTS idx_item_request ON item (request);
+
+CREATE INDEX IF NOT EXISTS idx_comment_item ON comment (item);
+
+CREATE INDEX IF NOT EXISTS idx_item_request_requestor_created ON item_request (requestor, created DESC);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_item_request_created_id ON item_request (created DESC, id DESC);
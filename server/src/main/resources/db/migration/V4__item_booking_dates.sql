@@ -0,0 +1,8 @@
+ALTER TABLE item ADD COLUMN IF NOT EXISTS last_booking_end TIMESTAMP;
+ALTER TABLE item ADD COLUMN IF NOT EXISTS next_booking_start TIMESTAMP;
+ALTER TABLE item ADD COLUMN IF NOT EXISTS booking_dates_expire_at TIMESTAMP;
+
+UPDATE item SET booking_dates_expire_at = LOCALTIMESTAMP
+WHERE EXISTS (SELECT 1 FROM booking b WHERE b.item = item.id);
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_dates_expire_at ON item (booking_dates_expire_at);
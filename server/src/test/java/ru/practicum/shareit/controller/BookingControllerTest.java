@@ -7,28 +7,41 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.base.pagination.KeysetCursor;
+import ru.practicum.shareit.base.pagination.ScrollParams;
+import ru.practicum.shareit.base.streaming.NdjsonResponseWriter;
 import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.RequestCreateBookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.util.enums.BookerStatus;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BookingController.class)
+@Import(NdjsonResponseWriter.class)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class BookingControllerTest {
     private final MockMvc mockMvc;
@@ -53,7 +66,8 @@ public class BookingControllerTest {
     @Test
     public void getAllByBookerId_shouldReturnBookings() throws Exception {
         long userId = 1L;
-        when(bookingService.getAllByUserId(eq(userId), anyString())).thenReturn(List.of(responseBookingDto));
+        when(bookingService.getAllByUserId(eq(userId), anyString(), any(ScrollParams.class)))
+                .thenReturn(Window.from(List.of(responseBookingDto), ScrollPosition::offset));
 
         checkCorrectnessBooking(
                 mockMvc.perform(get("/bookings")
@@ -65,7 +79,8 @@ public class BookingControllerTest {
     @Test
     public void getAllByBookerId_shouldReturnBadRequest_whenUserIdNotProvided() throws Exception {
         long userId = 1L;
-        when(bookingService.getAllByUserId(eq(userId), anyString())).thenReturn(List.of(responseBookingDto));
+        when(bookingService.getAllByUserId(eq(userId), anyString(), any(ScrollParams.class)))
+                .thenReturn(Window.from(List.of(responseBookingDto), ScrollPosition::offset));
 
         mockMvc.perform(get("/bookings")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -85,6 +100,28 @@ public class BookingControllerTest {
         );
     }
 
+    @Test
+    public void createAll_shouldReturnResultPerEntry() throws Exception {
+        long userId = 1L;
+        when(bookingService.createAll(eq(userId), anyList())).thenReturn(List.of(
+                BookingBatchResultDto.created(0, responseBookingDto),
+                BookingBatchResultDto.failed(1, new ValidationException("Item{id=%d} не активен", 2L))));
+
+        ResultActions resultActions = mockMvc.perform(post("/bookings/batch")
+                .header("X-Sharer-User-Id", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(requestBookingDto, requestBookingDto))));
+
+        checkCorrectnessBooking(resultActions, "$[0].booking", responseBookingDto);
+        resultActions
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].booking").doesNotExist())
+                .andExpect(jsonPath("$[1].error.error").value("Ошибка валидации"))
+                .andExpect(jsonPath("$[1].error.description").value("Item{id=2} не активен"));
+    }
+
     @Test
     public void create_shouldReturnBadRequest_whenUserIdNotProvided() throws Exception {
         long userId = 1L;
@@ -189,7 +226,8 @@ public class BookingControllerTest {
     public void getAllByItemOwnerId_shouldReturnBookings() throws Exception {
         long userId = 1L;
 
-        when(bookingService.getAllByItemOwnerId(eq(userId), anyString())).thenReturn(List.of(responseBookingDto));
+        when(bookingService.getAllByItemOwnerId(eq(userId), anyString(), any(ScrollParams.class)))
+                .thenReturn(Window.from(List.of(responseBookingDto), ScrollPosition::offset));
 
         checkCorrectnessBooking(
                 mockMvc.perform(get("/bookings/owner")
@@ -202,11 +240,27 @@ public class BookingControllerTest {
                 .andExpect(status().is2xxSuccessful());
     }
 
+    @Test
+    public void getAllByItemOwnerId_shouldReturnNextCursor_whenMoreBookingsAvailable() throws Exception {
+        long userId = 1L;
+
+        when(bookingService.getAllByItemOwnerId(eq(userId), anyString(), any(ScrollParams.class)))
+                .thenReturn(Window.from(List.of(responseBookingDto), ScrollPosition::offset, true));
+
+        String expectedCursor = new KeysetCursor(responseBookingDto.getStart(), responseBookingDto.getId()).encode();
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetCursor.NEXT_CURSOR_HEADER, expectedCursor));
+    }
+
     @Test
     public void getAllByItemOwnerId_shouldReturnBadRequest_whenUserIdNotProvided() throws Exception {
         long userId = 1L;
 
-        when(bookingService.getAllByItemOwnerId(eq(userId), anyString())).thenReturn(List.of(responseBookingDto));
+        when(bookingService.getAllByItemOwnerId(eq(userId), anyString(), any(ScrollParams.class)))
+                .thenReturn(Window.from(List.of(responseBookingDto), ScrollPosition::offset));
 
 
         mockMvc.perform(get("/bookings/owner")
@@ -219,7 +273,7 @@ public class BookingControllerTest {
         long userId = 1L;
         String state = "INVALID_STATE";
         String exMessage = String.format("Нет соответствующего состояния для: %s", state);
-        when(bookingService.getAllByItemOwnerId(eq(userId), anyString()))
+        when(bookingService.getAllByItemOwnerId(eq(userId), anyString(), any(ScrollParams.class)))
                 .thenThrow(new ValidationException(exMessage));
 
 
@@ -232,6 +286,41 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.description").value(exMessage));
     }
 
+    @Test
+    public void streamAllByItemOwnerId_shouldWriteOneBookingPerLine() throws Exception {
+        long userId = 1L;
+        doAnswer(invocation -> {
+            Consumer<BookingDto> action = invocation.getArgument(2);
+            action.accept(responseBookingDto);
+            action.accept(responseBookingDto);
+            return null;
+        }).when(bookingService).forEachByItemOwnerId(eq(userId), eq("all"), any());
+
+        String body = mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String line = objectMapper.writeValueAsString(responseBookingDto);
+        assertThat(body).isEqualTo(line + "\n" + line + "\n");
+    }
+
+    @Test
+    public void streamAllByItemOwnerId_shouldReturnNotFound_whenUserNotFound() throws Exception {
+        long userId = 1L;
+        doThrow(new NotFoundException("User по id=%s не найден", userId))
+                .when(bookingService).forEachByItemOwnerId(eq(userId), eq("all"), any());
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.description").value("User по id=1 не найден"));
+    }
+
     private void checkCorrectnessBooking(ResultActions resultActions, String prefixOfPath, BookingDto expectedBooking) throws Exception {
         resultActions
                 .andExpect(status().isOk())
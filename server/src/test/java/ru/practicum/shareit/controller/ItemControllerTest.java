@@ -7,8 +7,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.base.streaming.NdjsonResponseWriter;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.dto.comment.CommentDto;
@@ -21,7 +23,9 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.*;
@@ -29,6 +33,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ItemController.class)
+@Import(NdjsonResponseWriter.class)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class ItemControllerTest {
     private final MockMvc mockMvc;
@@ -129,7 +134,7 @@ public class ItemControllerTest {
         List<ItemDto> items = Arrays.asList(new ItemDto(1L, "Item1", "Description1", true, null),
                 new ItemDto(2L, "Item2", "Description2", true, null));
 
-        when(itemService.searchByNameAndDescription(searchText)).thenReturn(items);
+        when(itemService.searchByNameAndDescription(searchText, null)).thenReturn(items);
 
         mockMvc.perform(get("/items/search")
                         .param("text", searchText)
@@ -218,6 +223,37 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.description").value(exMessage));
     }
 
+    @Test
+    void streamAllItemsOfUser_shouldWriteOneItemPerLine() throws Exception {
+        Long userId = 1L;
+        doAnswer(invocation -> {
+            Consumer<ItemDto> action = invocation.getArgument(1);
+            action.accept(itemDto);
+            return null;
+        }).when(itemService).forEachItemOfUser(eq(userId), any());
+
+        String body = mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).isEqualTo(objectMapper.writeValueAsString(itemDto) + "\n");
+    }
+
+    @Test
+    void deleteItem_shouldEscapeExceptionMessage() throws Exception {
+        Long itemId = 1L;
+        String exMessage = "Item \"%s\"\nне найден";
+        doThrow(new NotFoundException(exMessage, "name\\1")).when(itemService).deleteById(itemId);
+        mockMvc.perform(delete("/items/" + itemId))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error").value("Запрашиваемый ресурс не найден"))
+                .andExpect(jsonPath("$.description").value("Item \"name\\1\"\nне найден"));
+    }
+
     @Test
     void addCommentToItem_commentShouldBeAddedToItem() throws Exception {
         Long userId = 1L;
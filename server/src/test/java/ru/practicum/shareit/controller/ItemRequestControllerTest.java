@@ -7,8 +7,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.base.pagination.KeysetCursor;
+import ru.practicum.shareit.base.pagination.ScrollParams;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.item.ItemInItemRequestDto;
 import ru.practicum.shareit.request.ItemRequestController;
@@ -19,6 +23,7 @@ import ru.practicum.shareit.request.service.ItemRequestService;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import static java.lang.String.format;
@@ -27,6 +32,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -118,7 +124,8 @@ public class ItemRequestControllerTest {
         Long userId = 1L;
 
         itemRequestDto.setResponses(someItems);
-        when(itemRequestService.findAll(userId)).thenReturn(Collections.singleton(itemRequestDto));
+        when(itemRequestService.findAll(eq(userId), any(ScrollParams.class), eq(false)))
+                .thenReturn(Window.from(List.of(itemRequestDto), ScrollPosition::offset));
 
         var item = someItems.iterator().next();
 
@@ -140,12 +147,29 @@ public class ItemRequestControllerTest {
     void getAll_shouldReturnBadRequest_whenUserIdNotProvided() throws Exception {
         Long userId = 1L;
 
-        when(itemRequestService.findAll(userId)).thenReturn(Collections.singleton(itemRequestDto));
+        when(itemRequestService.findAll(eq(userId), any(ScrollParams.class), eq(false)))
+                .thenReturn(Window.from(List.of(itemRequestDto), ScrollPosition::offset));
 
         mockMvc.perform(get("/requests/all"))
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getAll_shouldReturnNextCursor_whenMoreRequestsAvailable() throws Exception {
+        Long userId = 1L;
+
+        when(itemRequestService.findAll(eq(userId), any(ScrollParams.class), eq(true)))
+                .thenReturn(Window.from(List.of(itemRequestDto), ScrollPosition::offset, true));
+
+        String expectedCursor = new KeysetCursor(itemRequestDto.getCreated(), itemRequestDto.getId()).encode();
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", "1")
+                        .param("withItems", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetCursor.NEXT_CURSOR_HEADER, expectedCursor));
+    }
+
     @Test
     void getById_shouldReturnRequest() throws Exception {
         long requestId = 1;
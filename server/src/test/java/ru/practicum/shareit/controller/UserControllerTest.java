@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -21,8 +22,7 @@ import java.util.Collections;
 import static java.lang.String.format;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -53,6 +53,7 @@ public class UserControllerTest {
 
     @Test
     void findById_shouldReturnUser() throws Exception {
+        when(userService.findVersionById(eq(userDto.getId()))).thenReturn(0L);
         when(userService.findUserById(eq(userDto.getId()))).thenReturn(userDto);
 
         mockMvc.perform(get("/users/" + userDto.getId()))
@@ -61,12 +62,34 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.email").value(userDto.getEmail()));
     }
 
+    @Test
+    void findById_shouldReturnNotModified_whenVersionMatches() throws Exception {
+        when(userService.findVersionById(eq(userDto.getId()))).thenReturn(0L);
+        when(userService.findUserById(eq(userDto.getId()))).thenReturn(userDto);
+
+        String eTag = mockMvc.perform(get("/users/" + userDto.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/users/" + userDto.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(userService, times(1)).findUserById(userDto.getId());
+
+        userDto.setName("Updated name");
+        when(userService.findVersionById(eq(userDto.getId()))).thenReturn(1L);
+        mockMvc.perform(get("/users/" + userDto.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Updated name"));
+    }
+
     @Test
     void findById_shouldThrowNotFoundException_whenUserDoesNotExists() throws Exception {
         Long userId = userDto.getId();
 
         String exMessage = format("User по id=%d не найден", userId);
-        when(userService.findUserById(eq(userId))).thenThrow(
+        when(userService.findVersionById(eq(userId))).thenThrow(
                 new NotFoundException(exMessage));
 
         mockMvc.perform(get("/users/" + userId))
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.util.enums.ItemStatus;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class IdSequenceTest {
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+
+    @Test
+    public void sequences_shouldUseConfiguredIncrements() {
+        assertThat(sequenceIncrement("USERS_SEQ")).isEqualTo(50);
+        assertThat(sequenceIncrement("BOOKING_SEQ")).isEqualTo(50);
+        assertThat(sequenceIncrement("COMMENT_SEQ")).isEqualTo(20);
+    }
+
+    @Test
+    public void sqlInsert_shouldNotCollideWithPooledIds() {
+        User first = userRepository.saveAndFlush(new User(null, "Pooled-1", "pooled1@example.com"));
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Sql', 'sql@example.com')");
+        User second = userRepository.saveAndFlush(new User(null, "Pooled-2", "pooled2@example.com"));
+        Long sqlId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'sql@example.com'", Long.class);
+
+        assertThat(sqlId).isNotIn(first.getId(), second.getId());
+        assertThat(second.getId()).isEqualTo(first.getId() + 1);
+    }
+
+    @Test
+    public void pooledIds_shouldFollowDatabaseIncrement() {
+        User author = userRepository.save(new User(null, "Author", "author@example.com"));
+        Item item = itemRepository.save(new Item(null, "Item", "Description", ItemStatus.AVAILABLE, author, null));
+        LocalDateTime created = LocalDateTime.now();
+        List<Comment> comments = commentRepository.saveAllAndFlush(IntStream.range(0, 25)
+                .mapToObj(i -> new Comment(null, "Comment-" + i, item, author, created))
+                .toList());
+        jdbcTemplate.update("INSERT INTO comment (text, item, author, created) VALUES ('Sql', ?, ?, LOCALTIMESTAMP)",
+                item.getId(), author.getId());
+
+        assertThat(comments).extracting(Comment::getId).doesNotHaveDuplicates();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comment WHERE item = ?", Long.class, item.getId()))
+                .isEqualTo(26);
+    }
+
+    private long sequenceIncrement(String sequenceName) {
+        return jdbcTemplate.queryForObject(
+                "SELECT increment FROM information_schema.sequences WHERE sequence_name = ?", Long.class, sequenceName);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class QueryPlanTest {
+    private final JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "SELECT * FROM booking b WHERE b.booker = 1 ORDER BY b.start_date_time DESC, b.id DESC",
+            "SELECT * FROM booking b WHERE b.booker = 1 AND b.start_date_time < NOW() AND b.end_date_time > NOW() " +
+                    "ORDER BY b.start_date_time DESC, b.id DESC",
+            "SELECT * FROM booking b WHERE b.booker = 1 AND b.start_date_time > NOW() " +
+                    "ORDER BY b.start_date_time DESC, b.id DESC",
+            "SELECT * FROM booking b WHERE b.booker = 1 AND b.end_date_time < NOW() " +
+                    "ORDER BY b.start_date_time DESC, b.id DESC",
+            "SELECT * FROM booking b WHERE b.booker = 1 AND b.status = 'WAITING' " +
+                    "ORDER BY b.start_date_time DESC, b.id DESC",
+            "SELECT b.* FROM booking b JOIN item i ON i.id = b.item WHERE i.owner = 1 " +
+                    "ORDER BY b.start_date_time DESC, b.id DESC",
+            "SELECT b.* FROM booking b JOIN item i ON i.id = b.item WHERE i.owner = 1 AND b.status = 'WAITING' " +
+                    "ORDER BY b.start_date_time DESC, b.id DESC",
+            "SELECT b.* FROM booking b JOIN item i ON i.id = b.item WHERE i.owner = 1 AND b.start_date_time > NOW() " +
+                    "ORDER BY b.start_date_time DESC, b.id DESC",
+            "SELECT 1 FROM booking b WHERE b.booker = 1 AND b.item = 1 AND b.end_date_time < NOW()",
+            "SELECT 1 FROM booking b WHERE b.item = 1 AND b.status IN ('WAITING', 'APPROVED') " +
+                    "AND b.start_date_time < NOW() AND b.end_date_time > NOW()",
+            "SELECT b.item, MAX(b.end_date_time), MIN(b.start_date_time) FROM booking b " +
+                    "WHERE b.item IN (1, 2, 3) GROUP BY b.item",
+            "SELECT * FROM item i WHERE i.owner = 1",
+            "SELECT * FROM item i WHERE i.request = 1",
+            "SELECT * FROM comment c WHERE c.item IN (1, 2, 3)",
+            "SELECT * FROM item_request ir WHERE ir.requestor = 1 ORDER BY ir.created DESC",
+            "SELECT * FROM item_request ir WHERE ir.requestor <> 1 ORDER BY ir.created DESC, ir.id DESC LIMIT 10"
+    })
+    public void hotQuery_shouldNotScanWholeTable(String query) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query, String.class));
+
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.repository;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.base.metrics.QueryStatisticsMetrics;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class QueryStatisticsMetricsTest {
+    private final ItemRepository itemRepository;
+    private final QueryStatisticsMetrics queryStatisticsMetrics;
+    private final MeterRegistry meterRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void executedQuery_shouldBeExposedAsTimerTaggedWithQueryKey() {
+        itemRepository.findAllByOwnerId(-1L, LocalDateTime.now());
+        queryStatisticsMetrics.registerNewQueries();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String ownerItemsQuery = Arrays.stream(statistics.getQueries())
+                .filter(query -> query.contains("i.owner.id = :ownerId"))
+                .filter(query -> statistics.getQueryStatistics(query).getExecutionCount() >= 1)
+                .findFirst()
+                .orElseThrow();
+        String key = QueryStatisticsMetrics.queryKey(ownerItemsQuery);
+
+        FunctionTimer ownerItems = meterRegistry.get("hibernate.query.executions").tag("query", key).functionTimer();
+        assertThat(ownerItems.count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("hibernate.query.execution.rows").tag("query", key).functionCounter())
+                .isNotNull();
+        assertThat(meterRegistry.get("hibernate.query.executions").functionTimers())
+                .allSatisfy(timer -> assertThat(timer.getId().getTag("query")).matches("[0-9a-f]{12}"));
+    }
+}
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.base.datasource.ReadYourWritesFilter;
+import ru.practicum.shareit.base.datasource.ReplicaRoutingContext;
+import ru.practicum.shareit.base.pagination.ScrollParams;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.util.enums.BookerStatus;
+import ru.practicum.shareit.item.dto.item.ItemDto;
+import ru.practicum.shareit.item.dto.item.RequestItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.util.enums.ItemStatus;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit.replica.enabled=true",
+        "shareit.replica.urls=" + ReplicaRoutingTest.REPLICA_URL
+})
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ReplicaRoutingTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:shareit-replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    private final MockMvc mockMvc;
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private JdbcTemplate replica;
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking booking;
+
+    @BeforeEach
+    public void setUp() {
+        DataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "shareit", "shareit");
+        Flyway.configure().dataSource(replicaDataSource).locations("classpath:db/migration").load().migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        owner = userRepository.save(new User(null, "Replica-owner", "replica-owner@example.com"));
+        booker = userRepository.save(new User(null, "Replica-booker", "replica-booker@example.com"));
+        item = itemRepository.save(new Item(null, "Item", "Description", ItemStatus.AVAILABLE, owner, null));
+        booking = bookingRepository.save(
+                new Booking(null, now.plusDays(1), now.plusDays(2), item, booker, BookerStatus.WAITING));
+        replica.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)",
+                owner.getId(), owner.getName(), owner.getEmail());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReplicaRoutingContext.clear();
+        entityManagerFactory.getCache().evictAll();
+        replica.update("DELETE FROM item");
+        replica.update("DELETE FROM users");
+        bookingRepository.deleteById(booking.getId());
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteById(booker.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    public void readOnlyServiceMethod_shouldReadFromReplica() {
+        assertThat(bookingService.getAllByItemOwnerId(owner.getId(), "ALL", ScrollParams.firstPage()).getContent())
+                .isEmpty();
+    }
+
+    @Test
+    public void readOnlyServiceMethod_shouldReadFromPrimary_whenPinned() {
+        ReplicaRoutingContext.pinToPrimary();
+
+        assertThat(bookingService.getAllByItemOwnerId(owner.getId(), "ALL", ScrollParams.firstPage()).getContent())
+                .hasSize(1);
+    }
+
+    @Test
+    public void mutation_shouldReturnTokenPinningFollowingReadsToPrimary() throws Exception {
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        String lastWrite = mockMvc.perform(patch("/bookings/" + booking.getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("approved", "true"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ReadYourWritesFilter.LAST_WRITE_HEADER);
+
+        assertThat(lastWrite).isNotNull();
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .header(ReadYourWritesFilter.LAST_WRITE_HEADER, lastWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"));
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .header(ReadYourWritesFilter.LAST_WRITE_HEADER, Long.parseLong(lastWrite) - 60_000))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    public void replicaRead_shouldNotCacheStaleEntityForPrimaryUpdate() {
+        itemService.update(owner.getId(), item.getId(), new RequestItemDto("Renamed", null, null));
+        replica.update("INSERT INTO item (id, name, description, status, owner, version) VALUES (?, ?, ?, ?, ?, 0)",
+                item.getId(), item.getName(), item.getDescription(), item.getStatus().name(), owner.getId());
+        entityManagerFactory.getCache().evictAll();
+
+        assertThat(itemService.findItemById(item.getId()).getName()).isEqualTo("Item");
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId())).isFalse();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long transactions = statistics.getTransactionCount();
+        ItemDto updated = itemService.update(owner.getId(), item.getId(), new RequestItemDto(null, "Updated", null));
+        assertThat(updated.getName()).isEqualTo("Renamed");
+        assertThat(updated.getDescription()).isEqualTo("Updated");
+        assertThat(statistics.getTransactionCount() - transactions).isEqualTo(1);
+    }
+}
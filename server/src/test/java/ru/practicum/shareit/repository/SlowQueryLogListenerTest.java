@@ -0,0 +1,39 @@
+package ru.practicum.shareit.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "shareit.slow-query.enabled=true",
+        "shareit.slow-query.threshold=0ms",
+        "shareit.slow-query.sample-rate=1.0"
+})
+@Transactional
+@ExtendWith(OutputCaptureExtension.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SlowQueryLogListenerTest {
+    private final UserRepository userRepository;
+    private final DataSource dataSource;
+
+    @Test
+    public void queryOverThreshold_shouldBeLoggedWithSqlAndParameters(CapturedOutput output) {
+        userRepository.saveAndFlush(new User(null, "Slow", "slow-query@example.com"));
+
+        assertThat(dataSource.getClass().getName()).contains("ProxyDataSource");
+        assertThat(output).contains("Медленный запрос")
+                .containsIgnoringCase("insert into users")
+                .contains("slow-query@example.com");
+    }
+}
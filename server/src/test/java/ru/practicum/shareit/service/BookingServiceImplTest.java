@@ -1,11 +1,20 @@
 package ru.practicum.shareit.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.base.pagination.KeysetCursor;
+import ru.practicum.shareit.base.pagination.ScrollParams;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.RequestCreateBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
@@ -18,10 +27,13 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.util.enums.ItemStatus;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
@@ -40,6 +52,9 @@ public class BookingServiceImplTest {
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
 
     User owner;
     User booker;
@@ -54,7 +69,7 @@ public class BookingServiceImplTest {
         booker = new User(null, "Booker-1", "booker@example.com");
         item = new Item(null, "Item-1", "Item-1-description", ItemStatus.AVAILABLE, owner, null);
 
-        LocalDateTime dateTimeNow = LocalDateTime.now();
+        LocalDateTime dateTimeNow = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
         currentBooking = new Booking(
                 null, dateTimeNow.minusDays(7),
@@ -94,7 +109,7 @@ public class BookingServiceImplTest {
         List<String> states = List.of("ALL", "CURRENT", "FUTURE", "PAST", "WAITING", "REJECTED");
 
         IntStream.range(0, states.size()).forEach(index -> {
-            List<BookingDto> foundBookings = new ArrayList<>(bookingService.getAllByUserId(booker.getId(), states.get(index)));
+            List<BookingDto> foundBookings = new ArrayList<>(bookingService.getAllByUserId(booker.getId(), states.get(index), ScrollParams.firstPage()).getContent());
             List<Booking> expectedBookings = bookings.get(index);
             assertThat(foundBookings).isNotNull();
             assertThat(foundBookings).isNotEmpty();
@@ -103,6 +118,143 @@ public class BookingServiceImplTest {
         });
     }
 
+    @Test
+    public void getAllByUserId_shouldReturnPagesSortedByStartDescending() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        itemRepository.save(item);
+
+        bookingRepository.save(currentBooking);
+        bookingRepository.save(futureAndRejectedBooking);
+        bookingRepository.save(pastAndWaitingBooking);
+
+        Window<BookingDto> firstPage = bookingService.getAllByUserId(booker.getId(), "ALL",
+                new ScrollParams(null, 2, null));
+        assertThat(firstPage.getContent()).extracting(BookingDto::getId)
+                .containsExactly(futureAndRejectedBooking.getId(), currentBooking.getId());
+        assertThat(firstPage.hasNext()).isTrue();
+
+        BookingDto last = firstPage.getContent().getLast();
+        String cursor = new KeysetCursor(last.getStart(), last.getId()).encode();
+        Window<BookingDto> secondPage = bookingService.getAllByUserId(booker.getId(), "ALL",
+                new ScrollParams(null, 2, cursor));
+        assertThat(secondPage.getContent()).extracting(BookingDto::getId)
+                .containsExactly(pastAndWaitingBooking.getId());
+        assertThat(secondPage.hasNext()).isFalse();
+
+        Window<BookingDto> offsetPage = bookingService.getAllByUserId(booker.getId(), "ALL",
+                new ScrollParams(1, 1, null));
+        assertThat(offsetPage.getContent()).extracting(BookingDto::getId)
+                .containsExactly(currentBooking.getId());
+    }
+
+    @Test
+    public void create_shouldMaintainItemBookingDates() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        itemRepository.save(item);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        bookingService.create(booker.getId(), new RequestCreateBookingDto(item.getId(), now.plusDays(5), now.plusDays(6)));
+        bookingService.create(booker.getId(), new RequestCreateBookingDto(item.getId(), now.plusDays(2), now.plusDays(3)));
+        bookingService.create(booker.getId(), new RequestCreateBookingDto(item.getId(), now.minusDays(3), now.minusDays(2)));
+
+        Item storageItem = itemRepository.findById(item.getId()).orElseThrow();
+        assertThat(storageItem.getLastBookingEnd()).isEqualTo(now.minusDays(2));
+        assertThat(storageItem.getNextBookingStart()).isEqualTo(now.plusDays(2));
+        assertThat(storageItem.getBookingDatesExpireAt()).isEqualTo(now.plusDays(2));
+    }
+
+    @Test
+    public void getAllByUserId_shouldLoadBookingsWithSingleStatement() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        int bookingsCount = 20;
+        for (int i = 0; i < bookingsCount; i++) {
+            User itemOwner = userRepository.save(new User(null, "Owner-" + i, "owner" + i + "@example.com"));
+            ItemRequest request = itemRequestRepository.save(
+                    new ItemRequest(null, "Request-" + i, owner, now.minusDays(30)));
+            Item bookedItem = itemRepository.save(
+                    new Item(null, "Item-" + i, "Description-" + i, ItemStatus.AVAILABLE, itemOwner, request));
+            bookingRepository.save(new Booking(null, now.plusDays(i), now.plusDays(i + 1),
+                    bookedItem, booker, BookerStatus.APPROVED));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Window<BookingDto> bookings = bookingService.getAllByUserId(booker.getId(), "ALL",
+                new ScrollParams(null, bookingsCount, null));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(bookings.getContent()).hasSize(bookingsCount);
+        bookings.forEach(booking -> {
+            assertThat(booking.getBooker().getName()).isEqualTo(booker.getName());
+            assertThat(booking.getItem().getName()).startsWith("Item-");
+            assertThat(booking.getItem().getRequest()).isNotNull();
+        });
+    }
+
+    @Test
+    public void forEachByItemOwnerId_shouldStreamSameBookingsAsFirstPage() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        itemRepository.save(item);
+
+        bookingRepository.save(currentBooking);
+        bookingRepository.save(futureAndRejectedBooking);
+        bookingRepository.save(pastAndWaitingBooking);
+        entityManager.flush();
+
+        List.of("ALL", "CURRENT", "FUTURE", "PAST", "WAITING", "REJECTED").forEach(state -> {
+            List<BookingDto> streamedBookings = new ArrayList<>();
+            bookingService.forEachByItemOwnerId(owner.getId(), state, streamedBookings::add);
+
+            assertThat(streamedBookings).isEqualTo(bookingService.getAllByItemOwnerId(
+                    owner.getId(), state, ScrollParams.firstPage()).getContent());
+        });
+    }
+
+    @Test
+    public void forEachByItemOwnerId_shouldKeepPersistenceContextBounded() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        itemRepository.save(item);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        int bookingsCount = 10;
+        for (int i = 0; i < bookingsCount; i++)
+            bookingRepository.save(new Booking(null, start.plusDays(i), start.plusDays(i).plusHours(1),
+                    item, booker, BookerStatus.WAITING));
+        entityManager.flush();
+        entityManager.clear();
+
+        Session session = entityManager.unwrap(Session.class);
+        List<Integer> persistenceContextSizes = new ArrayList<>();
+        bookingService.forEachByItemOwnerId(owner.getId(), "ALL",
+                booking -> persistenceContextSizes.add(session.getStatistics().getEntityCount()));
+
+        assertThat(persistenceContextSizes).hasSize(bookingsCount).allMatch(size -> size <= 5);
+    }
+
+    @Test
+    public void forEachByItemOwnerId_shouldThrowNotFoundException_whenUserNotFound() {
+        assertThatThrownBy(() -> bookingService.forEachByItemOwnerId(999L, "ALL", booking -> {
+        })).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    public void getAllByItemOwnerId_shouldThrowValidationException_whenCursorIsMalformed() {
+        userRepository.save(owner);
+
+        assertThatThrownBy(() -> bookingService.getAllByItemOwnerId(owner.getId(), "ALL",
+                new ScrollParams(null, null, "not-a-cursor")))
+                .isInstanceOf(ValidationException.class);
+    }
+
     @Test
     public void getAllByUserId_shouldThrowValidationException() {
         userRepository.save(owner);
@@ -113,7 +265,7 @@ public class BookingServiceImplTest {
         bookingRepository.save(futureAndRejectedBooking);
         bookingRepository.save(pastAndWaitingBooking);
 
-        assertThatThrownBy(() -> bookingService.getAllByUserId(booker.getId(), "INVALID_STATE"))
+        assertThatThrownBy(() -> bookingService.getAllByUserId(booker.getId(), "INVALID_STATE", ScrollParams.firstPage()))
                 .isInstanceOf(ValidationException.class)
                 .hasMessage("Нет соответствующего состояния для: INVALID_STATE");
     }
@@ -150,20 +302,176 @@ public class BookingServiceImplTest {
                 .hasMessage(format("Item{id=%d} не активен", item.getId()));
     }
 
+    @Test
+    public void create_shouldThrowValidationException_whenBookingsOverlap() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        itemRepository.save(item);
+        bookingRepository.save(currentBooking);
+
+        RequestCreateBookingDto requestBookingDto = new RequestCreateBookingDto(item.getId(),
+                currentBooking.getEndDateTime().minusDays(1), currentBooking.getEndDateTime().plusDays(1));
+
+        assertThatThrownBy(() -> bookingService.create(booker.getId(), requestBookingDto))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageStartingWith(format("Item{id=%d} уже забронирован", item.getId()));
+    }
+
+    @Test
+    public void create_bookingShouldBeCreated_whenOverlappingBookingIsRejected() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        itemRepository.save(item);
+        bookingRepository.save(futureAndRejectedBooking);
+
+        RequestCreateBookingDto requestBookingDto = new RequestCreateBookingDto(item.getId(),
+                futureAndRejectedBooking.getStartDateTime(), futureAndRejectedBooking.getEndDateTime());
+
+        BookingDto bookingDto = bookingService.create(booker.getId(), requestBookingDto);
+        assertThat(bookingDto.getId()).isNotNull();
+        assertThat(bookingDto.getStatus()).isEqualTo(BookerStatus.WAITING);
+    }
+
+    @Test
+    public void create_bookingShouldBeCreated_whenBookingsAreAdjacent() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        itemRepository.save(item);
+        currentBooking.setEndDateTime(currentBooking.getEndDateTime().truncatedTo(ChronoUnit.SECONDS));
+        bookingRepository.save(currentBooking);
+
+        RequestCreateBookingDto requestBookingDto = new RequestCreateBookingDto(item.getId(),
+                currentBooking.getEndDateTime(), currentBooking.getEndDateTime().plusDays(1));
+
+        assertThat(bookingService.create(booker.getId(), requestBookingDto).getId()).isNotNull();
+    }
+
+    @Test
+    public void createAll_shouldCreateValidEntriesAndReportRejectedOnes() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        itemRepository.save(item);
+        Item unavailableItem = itemRepository.save(
+                new Item(null, "Item-2", "Item-2-description", ItemStatus.UNAVAILABLE, owner, null));
+        bookingRepository.save(futureAndRejectedBooking);
+        Booking blockingBooking = bookingRepository.save(new Booking(null,
+                currentBooking.getStartDateTime(), currentBooking.getEndDateTime(), item, owner, BookerStatus.APPROVED));
+        LocalDateTime start = blockingBooking.getEndDateTime().plusDays(10);
+
+        List<BookingBatchResultDto> results = bookingService.createAll(booker.getId(), List.of(
+                new RequestCreateBookingDto(item.getId(), start, start.plusDays(1)),
+                new RequestCreateBookingDto(item.getId(), start.plusHours(12), start.plusDays(2)),
+                new RequestCreateBookingDto(item.getId(), blockingBooking.getEndDateTime().minusDays(1), start),
+                new RequestCreateBookingDto(unavailableItem.getId(), start, start.plusDays(1)),
+                new RequestCreateBookingDto(999L, start, start.plusDays(1)),
+                new RequestCreateBookingDto(item.getId(), start.plusDays(3), start.plusDays(2)),
+                new RequestCreateBookingDto(item.getId(), futureAndRejectedBooking.getStartDateTime(),
+                        futureAndRejectedBooking.getEndDateTime()),
+                new RequestCreateBookingDto(item.getId(), start.minusYears(1), start.minusYears(1).plusDays(1))));
+
+        assertThat(results).extracting(BookingBatchResultDto::getIndex).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+        assertThat(results.get(0).getBooking().getStatus()).isEqualTo(BookerStatus.WAITING);
+        assertThat(results.get(1).getError().getDescription()).contains("уже забронирован");
+        assertThat(results.get(2).getError().getDescription()).contains("уже забронирован");
+        assertThat(results.get(3).getError().getDescription()).contains("не активен");
+        assertThat(results.get(4).getError().getError()).isEqualTo("Запрашиваемый ресурс не найден");
+        assertThat(results.get(5).getError().getError()).isEqualTo("Ошибка валидации");
+        assertThat(results.get(6).getBooking()).isNotNull();
+        assertThat(results.get(7).getError().getDescription()).contains("в прошлом");
+        assertThat(bookingRepository.findById(results.get(0).getBooking().getId())).isPresent();
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getNextBookingStart())
+                .isEqualTo(futureAndRejectedBooking.getStartDateTime());
+    }
+
+    @Test
+    public void createAll_shouldInsertBookingsInBatches() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        itemRepository.save(item);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MICROS);
+        List<RequestCreateBookingDto> bookingDtos = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            bookingDtos.add(new RequestCreateBookingDto(item.getId(), start.plusDays(i), start.plusDays(i).plusHours(1)));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingBatchResultDto> results = bookingService.createAll(booker.getId(), bookingDtos);
+        entityManager.flush();
+
+        assertThat(results).allMatch(result -> result.getBooking() != null);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(100);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+
     @Test
     public void approveBooking_shouldBeCompletedSuccessfully() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        itemRepository.save(item);
+        bookingRepository.save(pastAndWaitingBooking);
+
+        assertDoesNotThrow(() -> bookingService.approveBooking(owner.getId(), pastAndWaitingBooking.getId(), true));
+        Booking approvedBooking = bookingRepository.findById(pastAndWaitingBooking.getId()).get();
+        assertThat(approvedBooking.getStatus()).isEqualTo(BookerStatus.APPROVED);
+    }
+
+    @Test
+    public void approveBooking_shouldThrowValidationException_whenBookingAlreadyApproved() {
         userRepository.save(owner);
         userRepository.save(booker);
         itemRepository.save(item);
         bookingRepository.save(currentBooking);
 
-        assertDoesNotThrow(() -> bookingService.approveBooking(owner.getId(), currentBooking.getId(), true));
-        Booking approvedBooking = bookingRepository.findById(currentBooking.getId()).get();
+        assertThatThrownBy(() -> bookingService.approveBooking(owner.getId(), currentBooking.getId(), true))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> bookingService.approveBooking(owner.getId(), currentBooking.getId(), false))
+                .isInstanceOf(ValidationException.class);
+        assertThat(bookingRepository.findById(currentBooking.getId()).get().getStatus())
+                .isEqualTo(BookerStatus.APPROVED);
+    }
+
+    @Test
+    public void approveBooking_shouldThrowValidationException_whenBookingRejected() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        itemRepository.save(item);
+        bookingRepository.save(futureAndRejectedBooking);
+
+        assertThatThrownBy(() -> bookingService.approveBooking(owner.getId(), futureAndRejectedBooking.getId(), true))
+                .isInstanceOf(ValidationException.class);
+        assertThat(bookingRepository.findById(futureAndRejectedBooking.getId()).get().getStatus())
+                .isEqualTo(BookerStatus.REJECTED);
+    }
+
+    @Test
+    public void approveBooking_shouldUpdateStatusWithSingleStatement() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        itemRepository.save(item);
+        bookingRepository.save(pastAndWaitingBooking);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BookingDto approvedBooking = bookingService.approveBooking(owner.getId(), pastAndWaitingBooking.getId(), true);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
         assertThat(approvedBooking.getStatus()).isEqualTo(BookerStatus.APPROVED);
+        assertThat(approvedBooking.getItem().getId()).isEqualTo(item.getId());
+        assertThat(approvedBooking.getBooker().getId()).isEqualTo(booker.getId());
+    }
 
-        assertDoesNotThrow(() -> bookingService.approveBooking(owner.getId(), currentBooking.getId(), false));
-        Booking rejectedBooking = bookingRepository.findById(currentBooking.getId()).get();
-        assertThat(rejectedBooking.getStatus()).isEqualTo(BookerStatus.REJECTED);
+    @Test
+    public void approveBooking_shouldThrowNotFoundException() {
+        userRepository.save(owner);
+
+        assertThatThrownBy(() -> bookingService.approveBooking(owner.getId(), 999L, true))
+                .isInstanceOf(NotFoundException.class);
     }
 
     @Test
@@ -171,9 +479,9 @@ public class BookingServiceImplTest {
         userRepository.save(owner);
         userRepository.save(booker);
         itemRepository.save(item);
-        bookingRepository.save(currentBooking);
+        bookingRepository.save(pastAndWaitingBooking);
 
-        assertThatThrownBy(() -> bookingService.approveBooking(999L, currentBooking.getId(), true))
+        assertThatThrownBy(() -> bookingService.approveBooking(999L, pastAndWaitingBooking.getId(), true))
                 .isInstanceOf(ValidationException.class);
     }
 
@@ -182,9 +490,9 @@ public class BookingServiceImplTest {
         userRepository.save(owner);
         userRepository.save(booker);
         itemRepository.save(item);
-        bookingRepository.save(currentBooking);
+        bookingRepository.save(pastAndWaitingBooking);
 
-        assertThatThrownBy(() -> bookingService.approveBooking(booker.getId(), currentBooking.getId(), true))
+        assertThatThrownBy(() -> bookingService.approveBooking(booker.getId(), pastAndWaitingBooking.getId(), true))
                 .isInstanceOf(AccessDeniedException.class);
     }
 
@@ -203,6 +511,25 @@ public class BookingServiceImplTest {
         assertThat(foundBookingByBookerId.getId()).isEqualTo(currentBooking.getId());
     }
 
+    @Test
+    public void getBookingById_shouldLoadBookingWithSingleStatement() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        itemRepository.save(item);
+        bookingRepository.save(currentBooking);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BookingDto foundBooking = bookingService.getBookingById(booker.getId(), currentBooking.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(foundBooking.getItem().getName()).isEqualTo(item.getName());
+        assertThat(foundBooking.getBooker().getName()).isEqualTo(booker.getName());
+    }
+
     @Test
     public void getBookingById_shouldThrowNotFoundException() {
         userRepository.save(owner);
@@ -255,7 +582,7 @@ public class BookingServiceImplTest {
         List<String> states = List.of("ALL", "CURRENT", "FUTURE", "PAST", "WAITING", "REJECTED");
 
         IntStream.range(0, states.size()).forEach(index -> {
-            List<BookingDto> foundBookings = new ArrayList<>(bookingService.getAllByItemOwnerId(owner.getId(), states.get(index)));
+            List<BookingDto> foundBookings = new ArrayList<>(bookingService.getAllByItemOwnerId(owner.getId(), states.get(index), ScrollParams.firstPage()).getContent());
             List<Booking> expectedBookings = bookings.get(index);
             assertThat(foundBookings).isNotNull();
             assertThat(foundBookings).isNotEmpty();
@@ -274,7 +601,7 @@ public class BookingServiceImplTest {
         bookingRepository.save(futureAndRejectedBooking);
         bookingRepository.save(pastAndWaitingBooking);
 
-        assertThatThrownBy(() -> bookingService.getAllByItemOwnerId(owner.getId(), "INVALID_STATE"))
+        assertThatThrownBy(() -> bookingService.getAllByItemOwnerId(owner.getId(), "INVALID_STATE", ScrollParams.firstPage()))
                 .isInstanceOf(ValidationException.class)
                 .hasMessage("Нет соответствующего состояния для: INVALID_STATE");
     }
@@ -289,7 +616,7 @@ public class BookingServiceImplTest {
         bookingRepository.save(futureAndRejectedBooking);
         bookingRepository.save(pastAndWaitingBooking);
 
-        assertThatThrownBy(() -> bookingService.getAllByItemOwnerId(999L, "ALL"))
+        assertThatThrownBy(() -> bookingService.getAllByItemOwnerId(999L, "ALL", ScrollParams.firstPage()))
                 .isInstanceOf(NotFoundException.class);
     }
 
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.util.enums.BookerStatus;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.item.ItemDto;
+import ru.practicum.shareit.item.dto.item.RequestItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.util.enums.ItemStatus;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ConcurrentUpdateTest {
+    private static final int THREADS = 64;
+
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking booking;
+
+    @BeforeEach
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        owner = userRepository.save(new User(null, "Concurrent-owner", "concurrent-owner@example.com"));
+        booker = userRepository.save(new User(null, "Concurrent-booker", "concurrent-booker@example.com"));
+        item = itemRepository.save(new Item(null, "Item", "Description", ItemStatus.AVAILABLE, owner, null));
+        booking = bookingRepository.save(
+                new Booking(null, now.plusDays(1), now.plusDays(2), item, booker, BookerStatus.WAITING));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bookingRepository.deleteById(booking.getId());
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteById(booker.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    public void concurrentApprovalsAndItemUpdates_shouldNotLoseUpdates() throws Exception {
+        long bookingVersion = bookingRepository.findById(booking.getId()).orElseThrow().getVersion();
+        long itemVersion = itemRepository.findById(item.getId()).orElseThrow().getVersion();
+        AtomicInteger approvals = new AtomicInteger();
+        AtomicInteger rejectedApprovals = new AtomicInteger();
+        Set<BookerStatus> approvedStatuses = ConcurrentHashMap.newKeySet();
+        AtomicInteger itemUpdates = new AtomicInteger();
+        AtomicInteger itemConflicts = new AtomicInteger();
+        Set<String> committedNames = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    if (thread % 2 == 0) {
+                        try {
+                            BookingDto approved = bookingService.approveBooking(owner.getId(), booking.getId(),
+                                    thread % 4 == 0);
+                            approvedStatuses.add(approved.getStatus());
+                            approvals.incrementAndGet();
+                        } catch (ValidationException e) {
+                            rejectedApprovals.incrementAndGet();
+                        }
+                        return null;
+                    }
+                    try {
+                        ItemDto updated = itemService.update(owner.getId(), item.getId(),
+                                new RequestItemDto("Item-" + thread, null, null));
+                        committedNames.add(updated.getName());
+                        itemUpdates.incrementAndGet();
+                    } catch (ConflictException e) {
+                        itemConflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures)
+                future.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Booking storedBooking = bookingRepository.findById(booking.getId()).orElseThrow();
+        Item storedItem = itemRepository.findById(item.getId()).orElseThrow();
+        assertThat(approvals.get()).isEqualTo(1);
+        assertThat(rejectedApprovals.get()).isEqualTo(THREADS / 2 - 1);
+        assertThat(storedBooking.getVersion() - bookingVersion).isEqualTo(1);
+        assertThat(approvedStatuses).containsExactly(storedBooking.getStatus());
+        assertThat(itemUpdates.get() + itemConflicts.get()).isEqualTo(THREADS / 2);
+        assertThat(storedItem.getVersion() - itemVersion).isEqualTo(itemUpdates.get());
+        assertThat(committedNames).contains(storedItem.getName());
+    }
+}
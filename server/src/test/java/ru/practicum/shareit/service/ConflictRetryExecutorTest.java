@@ -0,0 +1,48 @@
+package ru.practicum.shareit.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import ru.practicum.shareit.base.service.ConflictRetryExecutor;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"shareit.conflict-retry.max-attempts=3", "shareit.conflict-retry.backoff=1ms"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ConflictRetryExecutorTest {
+    private final ConflictRetryExecutor conflictRetryExecutor;
+
+    @Test
+    public void execute_shouldRetryOptimisticLockConflicts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = conflictRetryExecutor.execute("Item", 1L, () -> {
+            if (attempts.incrementAndGet() < 3)
+                throw new ObjectOptimisticLockingFailureException(Item.class, 1L);
+            return "updated";
+        });
+
+        assertThat(result).isEqualTo("updated");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void execute_shouldThrowConflictExceptionWhenAttemptsExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> conflictRetryExecutor.execute("Item", 1L, () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Item.class, 1L);
+        }))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Item{id=1} изменен параллельно, изменение не применено после 3 попыток");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+}
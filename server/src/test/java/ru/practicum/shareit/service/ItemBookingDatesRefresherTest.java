@@ -0,0 +1,115 @@
+package ru.practicum.shareit.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.util.enums.BookerStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingDatesRefresher;
+import ru.practicum.shareit.item.util.enums.ItemStatus;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemBookingDatesRefresherTest {
+    private final ItemBookingDatesRefresher refresher;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private LocalDateTime now;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "owner@example.com"));
+        booker = userRepository.save(new User(null, "Booker", "booker@example.com"));
+        item = itemRepository.save(new Item(null, "Item", "Description", ItemStatus.AVAILABLE, owner, null));
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    @Test
+    public void refreshExpired_shouldRecomputeDatesOfExpiredItems() {
+        bookingRepository.save(new Booking(null, now.minusHours(3), now.minusHours(2), item, booker,
+                BookerStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.minusHours(1), now.plusHours(1), item, booker,
+                BookerStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker,
+                BookerStatus.WAITING));
+        item.setNextBookingStart(now.minusHours(1));
+        item.setBookingDatesExpireAt(now.minusHours(1));
+        itemRepository.flush();
+
+        assertThat(refresher.refreshExpired()).isEqualTo(1);
+
+        assertThat(item.getLastBookingEnd()).isEqualTo(now.minusHours(2));
+        assertThat(item.getNextBookingStart()).isEqualTo(now.plusDays(1));
+        assertThat(item.getBookingDatesExpireAt()).isEqualTo(now.plusHours(1));
+        assertThat(refresher.refreshExpired()).isZero();
+    }
+
+    @Test
+    public void findAllWithExpiredBookingDatesForUpdate_shouldIncludeItemsExpiringNow() {
+        bookingRepository.save(new Booking(null, now, now.plusHours(1), item, booker, BookerStatus.APPROVED));
+        item.setNextBookingStart(now);
+        item.setBookingDatesExpireAt(now);
+        itemRepository.flush();
+
+        assertThat(itemRepository.findAllWithExpiredBookingDatesForUpdate(now, Limit.of(10)))
+                .containsExactly(item);
+
+        item.setBookingDates(bookingRepository.findBookingDatesByItemIds(List.of(item.getId()), now).getFirst());
+        itemRepository.flush();
+
+        assertThat(item.getNextBookingStart()).isNull();
+        assertThat(item.getBookingDatesExpireAt()).isEqualTo(now.plusHours(1));
+        assertThat(itemRepository.findAllWithExpiredBookingDatesForUpdate(now, Limit.of(10))).isEmpty();
+    }
+
+    @Test
+    public void reconcile_shouldRepairDatesOfBookingsSavedPastService() {
+        bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker,
+                BookerStatus.WAITING));
+        itemRepository.flush();
+
+        assertThat(refresher.reconcile()).isEqualTo(1);
+
+        assertThat(item.getLastBookingEnd()).isNull();
+        assertThat(item.getNextBookingStart()).isEqualTo(now.plusDays(1));
+        assertThat(item.getBookingDatesExpireAt()).isEqualTo(now.plusDays(1));
+        assertThat(refresher.reconcile()).isZero();
+    }
+
+    @Test
+    public void findIdsWithStaleBookingDates_shouldSkipItemsWithConsistentDates() {
+        Item consistentItem = itemRepository.save(
+                new Item(null, "Consistent", "Description", ItemStatus.AVAILABLE, owner, null));
+        bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker,
+                BookerStatus.WAITING));
+        bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), consistentItem, booker,
+                BookerStatus.WAITING));
+        consistentItem.setNextBookingStart(now.plusDays(1));
+        consistentItem.setBookingDatesExpireAt(now.plusDays(1));
+        itemRepository.flush();
+
+        assertThat(itemRepository.findIdsWithStaleBookingDates(0L, Long.MAX_VALUE, now))
+                .containsExactly(item.getId());
+    }
+}
@@ -1,12 +1,20 @@
 package ru.practicum.shareit.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Window;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.base.pagination.KeysetCursor;
+import ru.practicum.shareit.base.pagination.ScrollParams;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.item.ItemInItemRequestDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.util.enums.ItemStatus;
@@ -19,7 +27,9 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -33,6 +43,8 @@ public class ItemRequestServiceImplTest {
     private final ItemRequestRepository requestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
 
     User requestor;
     ItemRequest itemRequest;
@@ -64,6 +76,37 @@ public class ItemRequestServiceImplTest {
                 .stream().anyMatch(i -> i.getId().equals(response.getId()))).isTrue();
     }
 
+    @Test
+    public void findAllRequestsOfUser_shouldLoadResponsesWithConstantQueryCount() {
+        requestor = userRepository.save(requestor);
+        responseOwner = userRepository.save(responseOwner);
+
+        int requestsCount = 600;
+        for (int i = 0; i < requestsCount; i++) {
+            ItemRequest request = requestRepository.save(new ItemRequest(null,
+                    "ItemRequest-" + i, requestor, LocalDateTime.now().minusMinutes(i)));
+            if (i % 2 == 0) {
+                itemRepository.save(new Item(null, "Item-" + i + "-1", "Description",
+                        ItemStatus.AVAILABLE, responseOwner, request));
+                itemRepository.save(new Item(null, "Item-" + i + "-2", "Description",
+                        ItemStatus.AVAILABLE, responseOwner, request));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemRequestDto> requests = List.copyOf(requestService.findAllRequestsOfUser(requestor.getId()));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(requests).hasSize(requestsCount);
+        requests.forEach(request -> assertThat(request.getResponses())
+                .hasSize(request.getDescription().matches("ItemRequest-\\d*[02468]") ? 2 : 0)
+                .allMatch(response -> response.getOwnerId().equals(responseOwner.getId())));
+    }
+
     @Test
     public void findAll_shouldReturnRequests() {
         requestor = userRepository.save(requestor);
@@ -71,10 +114,65 @@ public class ItemRequestServiceImplTest {
         itemRequest = requestRepository.save(itemRequest);
         response = itemRepository.save(response);
 
-        Collection<ItemRequestDto> allRequests = requestService.findAll(responseOwner.getId());
+        Collection<ItemRequestDto> allRequests = requestService.findAll(responseOwner.getId(),
+                ScrollParams.firstPage(), false).getContent();
         assertThat(allRequests).isNotNull();
         assertThat(allRequests).isNotEmpty();
         assertThat(allRequests.size()).isEqualTo(1);
+        assertThat(allRequests.iterator().next().getResponses()).isEmpty();
+    }
+
+    @Test
+    public void findAll_shouldPageByCreatedAndIdWithCursor() {
+        requestor = userRepository.save(requestor);
+        responseOwner = userRepository.save(responseOwner);
+        LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        ItemRequest oldest = requestRepository.save(
+                new ItemRequest(null, "Oldest", requestor, created.minusDays(1)));
+        ItemRequest sameTimeFirst = requestRepository.save(new ItemRequest(null, "SameTime-1", requestor, created));
+        ItemRequest sameTimeSecond = requestRepository.save(new ItemRequest(null, "SameTime-2", requestor, created));
+        requestRepository.save(new ItemRequest(null, "Own", responseOwner, created.plusDays(1)));
+
+        Window<ItemRequestDto> firstPage = requestService.findAll(responseOwner.getId(),
+                new ScrollParams(null, 2, null), false);
+        assertThat(firstPage.getContent()).extracting(ItemRequestDto::getId)
+                .containsExactly(sameTimeSecond.getId(), sameTimeFirst.getId());
+        assertThat(firstPage.hasNext()).isTrue();
+
+        ItemRequestDto last = firstPage.getContent().getLast();
+        String cursor = new KeysetCursor(last.getCreated(), last.getId()).encode();
+        Window<ItemRequestDto> secondPage = requestService.findAll(responseOwner.getId(),
+                new ScrollParams(null, 2, cursor), false);
+        assertThat(secondPage.getContent()).extracting(ItemRequestDto::getId)
+                .containsExactly(oldest.getId());
+        assertThat(secondPage.hasNext()).isFalse();
+    }
+
+    @Test
+    public void findAll_shouldAttachResponses_whenWithItems() {
+        requestor = userRepository.save(requestor);
+        responseOwner = userRepository.save(responseOwner);
+        itemRequest = requestRepository.save(itemRequest);
+        response = itemRepository.save(response);
+
+        List<ItemRequestDto> allRequests = requestService.findAll(responseOwner.getId(),
+                ScrollParams.firstPage(), true).getContent();
+        assertThat(allRequests).hasSize(1);
+        assertThat(allRequests.getFirst().getResponses()).extracting(ItemInItemRequestDto::getId)
+                .containsExactly(response.getId());
+    }
+
+    @Test
+    public void findAll_shouldCapPageSize() {
+        requestor = userRepository.save(requestor);
+        responseOwner = userRepository.save(responseOwner);
+        for (int i = 0; i < 105; i++)
+            requestRepository.save(new ItemRequest(null, "ItemRequest-" + i, requestor, LocalDateTime.now()));
+
+        Window<ItemRequestDto> page = requestService.findAll(responseOwner.getId(),
+                new ScrollParams(null, 1000, null), false);
+        assertThat(page.getContent()).hasSize(100);
+        assertThat(page.hasNext()).isTrue();
     }
 
     @Test
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.item.dto.item.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.IndexedItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.SqlItemSearchEngine;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new ItemSearchIndex();
+        index.put(new ItemDto(1L, "Аккумуляторная дрель", "Дрель + аккумулятор", true, null));
+        index.put(new ItemDto(2L, "Отвертка", "Аккумуляторная отвертка с набором бит", true, null));
+        index.put(new ItemDto(3L, "Дрель", "Простая дрель", true, 7L));
+        index.put(new ItemDto(4L, "Дрель ударная", "Не сдается", false, null));
+    }
+
+    @Test
+    public void search_shouldMatchSubstringIgnoringCase() {
+        assertThat(index.search("КУМУЛ", 10)).extracting(ItemDto::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    public void search_shouldOrderByRelevance() {
+        index.put(new ItemDto(10L, "Кейс", "Кейс подходит под дрель", true, null));
+        index.put(new ItemDto(11L, "Дрельный станок", "Настольный", true, null));
+
+        assertThat(index.search("дрель", 10)).extracting(ItemDto::getId).containsExactly(1L, 3L, 11L, 10L);
+        assertThat(index.search("дрель", 10).get(1).getRequest()).isEqualTo(7L);
+    }
+
+    @Test
+    public void search_shouldRespectLimit() {
+        assertThat(index.search("др", 1)).extracting(ItemDto::getId).containsExactly(1L);
+    }
+
+    @Test
+    public void search_shouldNotMatchTrigramsSpreadAcrossText() {
+        assertThat(index.search("дрель аккумулятор", 10)).isEmpty();
+        assertThat(index.search("дрель + аккумулятор", 10)).extracting(ItemDto::getId).containsExactly(1L);
+    }
+
+    @Test
+    public void put_shouldReindexUpdatedItem() {
+        index.put(new ItemDto(3L, "Перфоратор", "Мощный", true, null));
+        index.put(new ItemDto(4L, "Дрель ударная", "Теперь сдается", true, null));
+
+        assertThat(index.search("дрель", 10)).extracting(ItemDto::getId).containsExactly(1L, 4L);
+        assertThat(index.search("перфо", 10)).extracting(ItemDto::getId).containsExactly(3L);
+    }
+
+    @Test
+    public void put_shouldRemoveItemThatBecameUnavailable() {
+        index.put(new ItemDto(1L, "Аккумуляторная дрель", "Дрель + аккумулятор", false, null));
+
+        assertThat(index.search("аккумулятор", 10)).extracting(ItemDto::getId).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void remove_shouldRemoveItem() {
+        index.remove(2L);
+
+        assertThat(index.search("отвертка", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void indexedEngine_shouldRouteShortQueriesToSql() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        SqlItemSearchEngine sqlEngine = mock(SqlItemSearchEngine.class);
+        when(itemRepository.findAvailableItemsAfterId(anyLong(), any(Limit.class)))
+                .thenReturn(List.of(new ItemDto(1L, "Дрель", "Простая дрель", true, null)));
+        IndexedItemSearchEngine engine = new IndexedItemSearchEngine(itemRepository, sqlEngine, 10);
+        engine.rebuild();
+
+        assertThat(engine.search("дрель", 10)).extracting(ItemDto::getId).containsExactly(1L);
+        verifyNoInteractions(sqlEngine);
+
+        engine.search("др", 10);
+        verify(sqlEngine).search("др", 10);
+    }
+}
@@ -1,21 +1,29 @@
 package ru.practicum.shareit.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.RequestCreateBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.util.enums.BookerStatus;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.comment.CommentDto;
 import ru.practicum.shareit.item.dto.comment.RequestCreateCommentDto;
 import ru.practicum.shareit.item.dto.item.ItemDto;
 import ru.practicum.shareit.item.dto.item.RequestItemDto;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -27,7 +35,10 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import static java.lang.String.format;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,6 +55,9 @@ public class ItemServiceImplTest {
     private final ItemRequestRepository requestRepository;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
 
     private User user;
     private Item item1;
@@ -70,6 +84,99 @@ public class ItemServiceImplTest {
         assertThat(items.size()).isEqualTo(2);
     }
 
+    @Test
+    public void findAllItemsByUserId_shouldIssueConstantNumberOfQueries() {
+        Long userId = userRepository.save(user).getId();
+        User booker = userRepository.save(new User(null, "Booker", "booker@gmail.com"));
+        LocalDateTime now = LocalDateTime.now();
+
+        int itemsCount = 20;
+        for (int i = 0; i < itemsCount; i++) {
+            Item item = itemRepository.save(
+                    new Item(null, "Item-" + i, "Description-" + i, ItemStatus.AVAILABLE, user, null));
+            bookingService.create(booker.getId(),
+                    new RequestCreateBookingDto(item.getId(), now.minusDays(3), now.minusDays(2)));
+            bookingService.create(booker.getId(),
+                    new RequestCreateBookingDto(item.getId(), now.plusDays(2), now.plusDays(3)));
+            commentRepository.save(new Comment(null, "Comment-" + i, item, booker, now.minusDays(1)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemDto> items = List.copyOf(itemService.findAllItemsByUserId(userId));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(items).hasSize(itemsCount);
+        items.forEach(itemDto -> {
+            assertThat(itemDto.getComments()).hasSize(1);
+            assertThat(itemDto.getComments().iterator().next().getAuthorName()).isEqualTo(booker.getName());
+            assertThat(itemDto.getLastBooking()).isBefore(now);
+            assertThat(itemDto.getNextBooking()).isAfter(now);
+        });
+    }
+
+    @Test
+    public void findAllItemsByUserId_shouldRecomputeExpiredBookingDates() {
+        Long userId = userRepository.save(user).getId();
+        User booker = userRepository.save(new User(null, "Booker", "booker@gmail.com"));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        item1.setNextBookingStart(now.minusHours(1));
+        item1.setBookingDatesExpireAt(now.minusHours(1));
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+        bookingRepository.save(new Booking(null, now.minusHours(3), now.minusHours(2),
+                item1, booker, BookerStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.minusHours(1), now.plusHours(1),
+                item1, booker, BookerStatus.APPROVED));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemDto> items = List.copyOf(itemService.findAllItemsByUserId(userId));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        ItemDto expiredItem = items.stream().filter(item -> item.getId().equals(item1.getId())).findFirst().orElseThrow();
+        assertThat(expiredItem.getLastBooking()).isEqualTo(now.minusHours(2));
+        assertThat(expiredItem.getNextBooking()).isNull();
+    }
+
+    @Test
+    public void forEachItemOfUser_shouldFillEveryChunk() {
+        Long userId = userRepository.save(user).getId();
+        User booker = userRepository.save(new User(null, "Booker", "booker@gmail.com"));
+        LocalDateTime now = LocalDateTime.now();
+
+        int itemsCount = 5;
+        for (int i = 0; i < itemsCount; i++) {
+            Item item = itemRepository.save(
+                    new Item(null, "Item-" + i, "Description-" + i, ItemStatus.AVAILABLE, user, null));
+            bookingService.create(booker.getId(),
+                    new RequestCreateBookingDto(item.getId(), now.minusDays(3), now.minusDays(2)));
+            commentRepository.save(new Comment(null, "Comment-" + i, item, booker, now.minusDays(1)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemDto> items = new ArrayList<>();
+        itemService.forEachItemOfUser(userId, items::add);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + 3);
+        assertThat(items).hasSize(itemsCount);
+        items.forEach(itemDto -> {
+            assertThat(itemDto.getComments()).hasSize(1);
+            assertThat(itemDto.getLastBooking()).isBefore(now);
+        });
+        assertThat(items).containsExactlyInAnyOrderElementsOf(itemService.findAllItemsByUserId(userId));
+    }
+
     @Test
     public void findAllItemsByUserId_shouldReturnEmptyCollectionOfItems() {
         Collection<ItemDto> items = itemService.findAllItemsByUserId(999L);
@@ -89,26 +196,46 @@ public class ItemServiceImplTest {
         itemRepository.save(item2);
 
 
-        Collection<ItemDto> items = itemService.searchByNameAndDescription(substring);
+        Collection<ItemDto> items = itemService.searchByNameAndDescription(substring, null);
 
         assertThat(items).isNotNull();
         assertThat(items).isNotEmpty();
         assertThat(items.size()).isEqualTo(2);
     }
 
+    @Test
+    public void searchByNameAndDescription_shouldPutNameMatchesFirstAndRespectSize() {
+        userRepository.save(user);
+
+        String substring = "&3276_substring_8291&";
+        item1.setDescription(substring);
+        item2.setName("Item 2 " + substring);
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+
+        assertThat(itemService.searchByNameAndDescription(substring, null))
+                .extracting(ItemDto::getId)
+                .containsExactly(item2.getId(), item1.getId());
+        assertThat(itemService.searchByNameAndDescription(substring, 1))
+                .extracting(ItemDto::getId)
+                .containsExactly(item2.getId());
+        assertThatThrownBy(() -> itemService.searchByNameAndDescription(substring, 0))
+                .isInstanceOf(ValidationException.class);
+    }
+
     @Test
     public void searchByNameAndDescription_shouldReturnEmptyCollectionOfItems() {
-        Collection<ItemDto> items = itemService.searchByNameAndDescription("WKDO-192K-FKWK-JS2J");
+        Collection<ItemDto> items = itemService.searchByNameAndDescription("WKDO-192K-FKWK-JS2J", null);
 
         assertThat(items).isNotNull();
         assertThat(items).isEmpty();
 
-        items = itemService.searchByNameAndDescription("");
+        items = itemService.searchByNameAndDescription("", null);
 
         assertThat(items).isNotNull();
         assertThat(items).isEmpty();
 
-        items = itemService.searchByNameAndDescription(null);
+        items = itemService.searchByNameAndDescription(null, null);
 
         assertThat(items).isNotNull();
         assertThat(items).isEmpty();
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.base.metrics.ServiceMetricsAspect;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.RequestUserDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ServiceMetricsAspectTest {
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+    private final MockMvc mockMvc;
+
+    @Test
+    public void serviceMethod_shouldBeTimedWithOutcome() {
+        UserDto user = userService.create(new RequestUserDto("Metrics", "metrics@example.com"));
+        assertThatThrownBy(() -> userService.findUserById(-1L)).isInstanceOf(NotFoundException.class);
+
+        Timer created = meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tags("service", "UserServiceImpl", "method", "create", "outcome", "success")
+                .timer();
+        Timer failed = meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tags("service", "UserServiceImpl", "method", "findUserById", "outcome", "error",
+                        "exception", NotFoundException.class.getSimpleName())
+                .timer();
+        assertThat(user.getId()).isNotNull();
+        assertThat(created.count()).isGreaterThanOrEqualTo(1);
+        assertThat(failed.count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void repositoryMethod_shouldBeTimed() {
+        userService.existsById(-1L);
+
+        Timer repositoryTimer = meterRegistry.get("spring.data.repository.invocations")
+                .tags("repository", "UserRepository", "method", "findById", "state", "SUCCESS")
+                .timer();
+        assertThat(repositoryTimer.count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void prometheusEndpoint_shouldExposeSloBuckets() throws Exception {
+        userService.existsById(-1L);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_invocations_seconds_bucket")))
+                .andExpect(content().string(containsString("le=\"0.025\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")));
+    }
+}
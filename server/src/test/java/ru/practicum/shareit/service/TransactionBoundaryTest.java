@@ -0,0 +1,71 @@
+package ru.practicum.shareit.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.IllegalTransactionStateException;
+import ru.practicum.shareit.item.dto.item.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.util.enums.ItemStatus;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class TransactionBoundaryTest {
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    private User owner;
+    private Item item;
+    private Comment comment;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(new User(null, "Boundary-owner", "boundary-owner@example.com"));
+        item = itemRepository.save(new Item(null, "Item", "Description", ItemStatus.AVAILABLE, owner, null));
+        comment = commentRepository.save(new Comment(null, "Comment", item, owner, LocalDateTime.now()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        commentRepository.deleteById(comment.getId());
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    public void readOnlyServiceMethod_shouldUseSingleConnection() {
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").timer();
+        long acquiredBefore = acquire.count();
+
+        Collection<ItemDto> items = itemService.findAllItemsByUserId(owner.getId());
+
+        assertThat(acquire.count() - acquiredBefore).isEqualTo(1);
+        assertThat(items).singleElement().satisfies(itemDto -> assertThat(itemDto.getComments()).hasSize(1));
+    }
+
+    @Test
+    public void findByIdForUpdate_shouldRequireTransaction() {
+        assertThatThrownBy(() -> itemService.findByIdForUpdate(item.getId()))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+}
@@ -1,10 +1,15 @@
 package ru.practicum.shareit.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UserEmailIsNotUnique;
@@ -30,6 +35,8 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 public class UserServiceImplTest {
     private final UserServiceImpl userService;
     private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
 
     private RequestUserDto requestUserDto;
 
@@ -258,6 +265,48 @@ public class UserServiceImplTest {
         assertThat(userService.existsById(999L)).isFalse();
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findById_shouldBeServedFromSecondLevelCache() {
+        Long userId = userRepository.save(new User(null, "User-1", "user1@gmail.com")).getId();
+        try {
+            userService.findById(userId);
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            double cacheHitsBefore = cacheHits(User.class);
+
+            userService.findById(userId);
+
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+            assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+            assertThat(cacheHits(User.class) - cacheHitsBefore).isEqualTo(1);
+        } finally {
+            userRepository.deleteById(userId);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void update_shouldNotReturnStaleUserFromSecondLevelCache() {
+        Long userId = userRepository.save(new User(null, "User-1", "user1@gmail.com")).getId();
+        try {
+            userService.findById(userId);
+            userService.update(userId, new RequestUserDto("User-2", null));
+
+            assertThat(userService.findById(userId).getName()).isEqualTo("User-2");
+        } finally {
+            userRepository.deleteById(userId);
+        }
+    }
+
+    private double cacheHits(Class<?> entity) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", entity.getName())
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
     @Test
     public void findByEmail_shouldReturnPresentOpt() {
         User user = new User(null, "User-1", "user1@gmail.com");
@@ -2,12 +2,27 @@ package ru.practicum.shareit.util.enums;
 
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.booking.util.enums.State;
+import ru.practicum.shareit.exception.ValidationException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
 
 public class StateTest {
     @Test
     public void fromString_shouldBeReturnNull() {
         assertThat(State.fromString(null)).isNull();
     }
+
+    @Test
+    public void fromString_shouldIgnoreCase() {
+        assertThat(State.fromString("current")).isEqualTo(State.CURRENT);
+    }
+
+    @Test
+    public void fromString_shouldThrowStacklessValidationException() {
+        ValidationException ex = catchThrowableOfType(() -> State.fromString("UNKNOWN"), ValidationException.class);
+
+        assertThat(ex.getStackTrace()).isEmpty();
+        assertThat(ex.getMessage()).isEqualTo("Нет соответствующего состояния для: UNKNOWN");
+    }
 }